@@ -0,0 +1,72 @@
+package ru.practicum.shareit.benchmark;
+
+import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.model.Status;
+import ru.practicum.shareit.item.model.Comment;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.request.ItemRequest;
+import ru.practicum.shareit.user.User;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+final class Fixtures {
+    static final LocalDateTime NOW = LocalDateTime.of(2024, 1, 1, 12, 0);
+
+    private Fixtures() {
+    }
+
+    static User user(long id) {
+        return new User(id, "user" + id, "user" + id + "@mail.ru");
+    }
+
+    static ItemRequest request(long id, User requester) {
+        return new ItemRequest(id, "request description " + id, requester, NOW.minusHours(id));
+    }
+
+    static List<Item> items(int count, User owner, List<ItemRequest> requests) {
+        List<Item> items = new ArrayList<>(count);
+        for (long id = 1; id <= count; id++) {
+            items.add(Item.builder()
+                    .id(id)
+                    .owner(owner)
+                    .name("item" + id)
+                    .description("description of item " + id)
+                    .available(true)
+                    .request(requests.isEmpty() ? null : requests.get((int) (id % requests.size())))
+                    .bookings(new ArrayList<>())
+                    .build());
+        }
+        return items;
+    }
+
+    static List<Booking> bookings(List<Item> items, User booker) {
+        List<Booking> bookings = new ArrayList<>(items.size());
+        for (Item item : items) {
+            bookings.add(Booking.builder()
+                    .id(item.getId())
+                    .start(NOW.plusDays(1))
+                    .end(NOW.plusDays(2))
+                    .item(item)
+                    .booker(booker)
+                    .status(Status.APPROVED)
+                    .build());
+        }
+        return bookings;
+    }
+
+    static List<Comment> comments(List<Item> items, User author) {
+        List<Comment> comments = new ArrayList<>(items.size());
+        for (Item item : items) {
+            comments.add(Comment.builder()
+                    .id(item.getId())
+                    .text("comment on " + item.getName())
+                    .item(item)
+                    .author(author)
+                    .created(NOW)
+                    .build());
+        }
+        return comments;
+    }
+}
@@ -0,0 +1,73 @@
+package ru.practicum.shareit.benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.data.domain.PageImpl;
+import ru.practicum.shareit.item.ItemRepository;
+import ru.practicum.shareit.request.ItemRequest;
+import ru.practicum.shareit.request.ItemRequestRepository;
+import ru.practicum.shareit.request.ItemRequestServiceImpl;
+import ru.practicum.shareit.request.RequestMapper;
+import ru.practicum.shareit.request.dto.ItemRequestResponseDto;
+import ru.practicum.shareit.user.User;
+import ru.practicum.shareit.user.UserExistenceCache;
+import ru.practicum.shareit.user.UserRepository;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * In-memory join of a page of item requests with the items answering them in
+ * {@link ItemRequestServiceImpl#getAllRequests}, with {@code itemsPerRequest} answers per request.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ItemRequestServiceBenchmark {
+
+    @Param({"20", "1000"})
+    private int requests;
+
+    @Param({"1", "10"})
+    private int itemsPerRequest;
+
+    private ItemRequestServiceImpl itemRequestService;
+
+    @Setup
+    public void setUp() {
+        User requester = Fixtures.user(1);
+        User owner = Fixtures.user(2);
+        List<ItemRequest> itemRequests = new ArrayList<>(requests);
+        for (long id = 1; id <= requests; id++) {
+            itemRequests.add(Fixtures.request(id, requester));
+        }
+        ItemRequestRepository itemRequestRepository = Stubs.of(ItemRequestRepository.class,
+                Map.of("findAllByRequesterIdNot", new PageImpl<>(itemRequests)));
+        ItemRepository itemRepository = Stubs.of(ItemRepository.class,
+                Map.of("findAllByRequestIdIn", Fixtures.items(requests * itemsPerRequest, owner, itemRequests)));
+
+        UserRepository userRepository = Stubs.of(UserRepository.class, Map.of());
+        itemRequestService = new ItemRequestServiceImpl(itemRequestRepository, userRepository,
+                new UserExistenceCache(userRepository, 1, Duration.ZERO), new RequestMapper(), itemRepository);
+    }
+
+    @Benchmark
+    public List<ItemRequestResponseDto> getAllRequests() {
+        return itemRequestService.getAllRequests(3L, 0, requests);
+    }
+}
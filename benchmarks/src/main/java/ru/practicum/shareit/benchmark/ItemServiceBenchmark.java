@@ -0,0 +1,176 @@
+package ru.practicum.shareit.benchmark;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.transaction.PlatformTransactionManager;
+import ru.practicum.shareit.booking.dto.ItemBookingView;
+import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.repository.BookingRepository;
+import ru.practicum.shareit.item.CommentMapper;
+import ru.practicum.shareit.item.CommentRepository;
+import ru.practicum.shareit.item.CommentServiceImpl;
+import ru.practicum.shareit.item.ItemDetailsCache;
+import ru.practicum.shareit.item.ItemMapper;
+import ru.practicum.shareit.item.ItemRepository;
+import ru.practicum.shareit.item.ItemSearchEngine;
+import ru.practicum.shareit.item.ItemServiceImpl;
+import ru.practicum.shareit.item.ItemStatsReconciler;
+import ru.practicum.shareit.item.ItemStatsRepository;
+import ru.practicum.shareit.item.dto.ItemCommentView;
+import ru.practicum.shareit.item.dto.ItemDto;
+import ru.practicum.shareit.item.model.Comment;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.model.ItemStats;
+import ru.practicum.shareit.request.ItemRequestRepository;
+import ru.practicum.shareit.user.User;
+import ru.practicum.shareit.user.UserRepository;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+/**
+ * In-memory part of {@link ItemServiceImpl#getItemsForUser}: mapping the owner's items, grouping their comments
+ * and attaching the last/next bookings returned by the database (the {@code setBookings} pipeline).
+ * Repositories are replaced by {@link Stubs}, so the score excludes JDBC.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ItemServiceBenchmark {
+
+    @Param({"20", "1000"})
+    private int size;
+
+    private ItemServiceImpl itemService;
+
+    @Setup
+    public void setUp() {
+        User owner = Fixtures.user(1);
+        User booker = Fixtures.user(2);
+        List<Item> items = Fixtures.items(size, owner, List.of());
+        List<ItemBookingView> bookingViews = Fixtures.bookings(items, booker).stream()
+                .map(BookingView::new)
+                .collect(Collectors.toList());
+
+        ItemRepository itemRepository = Stubs.of(ItemRepository.class, Map.of("findAllByOwner_Id", items));
+        List<ItemCommentView> commentViews = Fixtures.comments(items, booker).stream()
+                .map(CommentView::new)
+                .collect(Collectors.toList());
+        List<ItemStats> stats = items.stream()
+                .map(item -> ItemStats.builder().itemId(item.getId()).item(item).commentCount(1).build())
+                .collect(Collectors.toList());
+
+        CommentRepository commentRepository = Stubs.of(CommentRepository.class,
+                Map.of("findLatestOfItems", commentViews));
+        ItemStatsRepository itemStatsRepository = Stubs.of(ItemStatsRepository.class, Map.of("findAllById", stats));
+        BookingRepository bookingRepository = Stubs.of(BookingRepository.class, Map.of(
+                "findLastBookingsOfItems", bookingViews,
+                "findNextBookingsOfItems", bookingViews));
+        UserRepository userRepository = Stubs.of(UserRepository.class, Map.of());
+        ItemDetailsCache itemDetailsCache = new ItemDetailsCache(0, Duration.ZERO);
+
+        itemService = new ItemServiceImpl(
+                itemRepository,
+                new ItemMapper(),
+                userRepository,
+                new CommentServiceImpl(commentRepository, userRepository, itemRepository, new CommentMapper(),
+                        itemStatsRepository, itemDetailsCache, new ItemStatsReconciler(itemStatsRepository,
+                        itemRepository, Stubs.of(PlatformTransactionManager.class, Map.of()),
+                        new SimpleMeterRegistry(), 1)),
+                Stubs.of(ItemRequestRepository.class, Map.of()),
+                bookingRepository,
+                Stubs.of(ItemSearchEngine.class, Map.of()),
+                itemStatsRepository,
+                itemDetailsCache);
+    }
+
+    @Benchmark
+    public List<ItemDto> getItemsForUser() {
+        return itemService.getItemsForUser(1L, 0, size);
+    }
+
+    private static final class BookingView implements ItemBookingView {
+        private final Long itemId;
+        private final Long id;
+        private final Long bookerId;
+
+        private BookingView(Booking booking) {
+            this.itemId = booking.getItem().getId();
+            this.id = booking.getId();
+            this.bookerId = booking.getBooker().getId();
+        }
+
+        @Override
+        public Long getItemId() {
+            return itemId;
+        }
+
+        @Override
+        public Long getId() {
+            return id;
+        }
+
+        @Override
+        public Long getBookerId() {
+            return bookerId;
+        }
+    }
+
+    private static final class CommentView implements ItemCommentView {
+        private final Long itemId;
+        private final Long id;
+        private final String text;
+        private final String authorName;
+        private final LocalDateTime created;
+
+        private CommentView(Comment comment) {
+            this.itemId = comment.getItem().getId();
+            this.id = comment.getId();
+            this.text = comment.getText();
+            this.authorName = comment.getAuthor().getName();
+            this.created = comment.getCreated();
+        }
+
+        @Override
+        public Long getItemId() {
+            return itemId;
+        }
+
+        @Override
+        public Long getId() {
+            return id;
+        }
+
+        @Override
+        public String getText() {
+            return text;
+        }
+
+        @Override
+        public String getAuthorName() {
+            return authorName;
+        }
+
+        @Override
+        public LocalDateTime getCreated() {
+            return created;
+        }
+    }
+}
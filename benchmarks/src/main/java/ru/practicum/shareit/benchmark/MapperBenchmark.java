@@ -0,0 +1,79 @@
+package ru.practicum.shareit.benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import ru.practicum.shareit.booking.mapper.BookingMapper;
+import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.item.CommentMapper;
+import ru.practicum.shareit.item.ItemMapper;
+import ru.practicum.shareit.item.model.Comment;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.user.User;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Throughput of the entity-to-DTO mappers over a page-sized and a large list of entities.
+ * Build with {@code mvn package -pl benchmarks -am -DskipTests} and run
+ * {@code java -jar benchmarks/target/benchmarks.jar -prof gc} to include allocation rates.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class MapperBenchmark {
+
+    @Param({"20", "1000"})
+    private int size;
+
+    private final BookingMapper bookingMapper = new BookingMapper();
+    private final ItemMapper itemMapper = new ItemMapper();
+    private final CommentMapper commentMapper = new CommentMapper();
+
+    private List<Item> items;
+    private List<Booking> bookings;
+    private List<Comment> comments;
+
+    @Setup
+    public void setUp() {
+        User owner = Fixtures.user(1);
+        User booker = Fixtures.user(2);
+        items = Fixtures.items(size, owner, List.of(Fixtures.request(1, booker)));
+        bookings = Fixtures.bookings(items, booker);
+        comments = Fixtures.comments(items, booker);
+    }
+
+    @Benchmark
+    public void mapToBookingResponseDto(Blackhole blackhole) {
+        for (Booking booking : bookings) {
+            blackhole.consume(bookingMapper.mapToBookingResponseDto(booking));
+        }
+    }
+
+    @Benchmark
+    public void itemMapToDto(Blackhole blackhole) {
+        for (Item item : items) {
+            blackhole.consume(itemMapper.mapToDto(item));
+        }
+    }
+
+    @Benchmark
+    public void commentMapToDto(Blackhole blackhole) {
+        for (Comment comment : comments) {
+            blackhole.consume(commentMapper.mapToDto(comment));
+        }
+    }
+}
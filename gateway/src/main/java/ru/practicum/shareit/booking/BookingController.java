@@ -3,18 +3,23 @@ package ru.practicum.shareit.booking;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Controller;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Mono;
 import ru.practicum.shareit.booking.dto.BookItemRequestDto;
 import ru.practicum.shareit.booking.dto.BookingState;
+import ru.practicum.shareit.booking.dto.BulkBookItemRequestDto;
 import ru.practicum.shareit.handler.GatewayException;
 
 import javax.validation.Valid;
+import javax.validation.constraints.Max;
 import javax.validation.constraints.Positive;
 import javax.validation.constraints.PositiveOrZero;
+import java.time.LocalDateTime;
 
 @Controller
 @RequestMapping(path = "/bookings")
@@ -27,12 +32,12 @@ public class BookingController {
     private final BookingClient bookingClient;
 
     @GetMapping
-    public ResponseEntity<Object> getBookings(@RequestHeader(USER_HEADER) long userId,
-                                              @RequestParam(name = "state", defaultValue = "all") String stateParam,
-                                              @RequestParam(name = "from", defaultValue = "0")
-                                              @PositiveOrZero Integer from,
-                                              @RequestParam(name = "size", defaultValue = "10")
-                                              @Positive Integer size) {
+    public Mono<ResponseEntity<Object>> getBookings(@RequestHeader(USER_HEADER) long userId,
+                                                    @RequestParam(name = "state", defaultValue = "all") String stateParam,
+                                                    @RequestParam(name = "from", defaultValue = "0")
+                                                    @PositiveOrZero Integer from,
+                                                    @RequestParam(name = "size", defaultValue = "10")
+                                                    @Positive Integer size) {
         BookingState state = BookingState.from(stateParam)
                 .orElseThrow(() -> new GatewayException(HttpStatus.BAD_REQUEST.value(), "Unknown state: " + stateParam));
         log.info("Get booking with state {}, userId={}, from={}, size={}", stateParam, userId, from, size);
@@ -40,12 +45,12 @@ public class BookingController {
     }
 
     @GetMapping("/owner")
-    public ResponseEntity<Object> getBookingsOfOwner(@RequestHeader(USER_HEADER) long ownerId,
-                                                     @RequestParam(name = "state", defaultValue = "all") String stateParam,
-                                                     @RequestParam(name = "from", defaultValue = "0")
-                                                     @PositiveOrZero Integer from,
-                                                     @RequestParam(name = "size", defaultValue = "10")
-                                                     @Positive Integer size) {
+    public Mono<ResponseEntity<Object>> getBookingsOfOwner(@RequestHeader(USER_HEADER) long ownerId,
+                                                           @RequestParam(name = "state", defaultValue = "all") String stateParam,
+                                                           @RequestParam(name = "from", defaultValue = "0")
+                                                           @PositiveOrZero Integer from,
+                                                           @RequestParam(name = "size", defaultValue = "10")
+                                                           @Positive Integer size) {
         BookingState state = BookingState.from(stateParam)
                 .orElseThrow(() -> new GatewayException(HttpStatus.BAD_REQUEST.value(), "Unknown state: " + stateParam));
         log.info(
@@ -56,24 +61,61 @@ public class BookingController {
         return bookingClient.getBookingsOfOwner(ownerId, state, from, size);
     }
 
+    @GetMapping("/owner/summary")
+    public Mono<ResponseEntity<Object>> getOwnerSummary(@RequestHeader(USER_HEADER) long ownerId) {
+        log.info("Get booking summary of owner, ownerId={}", ownerId);
+        return bookingClient.getOwnerSummary(ownerId);
+    }
+
+    @GetMapping(params = "cursor")
+    public Mono<ResponseEntity<Object>> getBookingsAfter(@RequestHeader(USER_HEADER) long userId,
+                                                         @RequestParam(name = "state", defaultValue = "all") String stateParam,
+                                                         @RequestParam(name = "cursor") String cursor,
+                                                         @RequestParam(name = "size", defaultValue = "10")
+                                                         @Positive @Max(100) Integer size) {
+        BookingState state = BookingState.from(stateParam)
+                .orElseThrow(() -> new GatewayException(HttpStatus.BAD_REQUEST.value(), "Unknown state: " + stateParam));
+        log.info("Get booking with state {}, userId={}, cursor={}, size={}", stateParam, userId, cursor, size);
+        return bookingClient.getBookingsAfter(userId, state, cursor, size);
+    }
+
+    @GetMapping(value = "/owner", params = "cursor")
+    public Mono<ResponseEntity<Object>> getBookingsOfOwnerAfter(@RequestHeader(USER_HEADER) long ownerId,
+                                                                @RequestParam(name = "state", defaultValue = "all") String stateParam,
+                                                                @RequestParam(name = "cursor") String cursor,
+                                                                @RequestParam(name = "size", defaultValue = "10")
+                                                                @Positive @Max(100) Integer size) {
+        BookingState state = BookingState.from(stateParam)
+                .orElseThrow(() -> new GatewayException(HttpStatus.BAD_REQUEST.value(), "Unknown state: " + stateParam));
+        log.info("Get bookings of owner with state {}, ownerId={}, cursor={}, size={}", stateParam, ownerId, cursor, size);
+        return bookingClient.getBookingsOfOwnerAfter(ownerId, state, cursor, size);
+    }
+
     @PostMapping
-    public ResponseEntity<Object> bookItem(@RequestHeader(USER_HEADER) long userId,
-                                           @RequestBody @Valid BookItemRequestDto requestDto) {
+    public Mono<ResponseEntity<Object>> bookItem(@RequestHeader(USER_HEADER) long userId,
+                                                 @RequestBody @Valid BookItemRequestDto requestDto) {
         log.info("Creating booking {}, userId={}", requestDto, userId);
         return bookingClient.bookItem(userId, requestDto);
     }
 
+    @PostMapping("/bulk")
+    public Mono<ResponseEntity<Object>> bookItems(@RequestHeader(USER_HEADER) long userId,
+                                                  @RequestBody @Valid BulkBookItemRequestDto requestDto) {
+        log.info("Creating {} bookings, userId={}", requestDto.getBookings().size(), userId);
+        return bookingClient.bookItems(userId, requestDto);
+    }
+
     @GetMapping("/{bookingId}")
-    public ResponseEntity<Object> getBooking(@RequestHeader(USER_HEADER) long userId,
-                                             @PathVariable Long bookingId) {
+    public Mono<ResponseEntity<Object>> getBooking(@RequestHeader(USER_HEADER) long userId,
+                                                   @PathVariable Long bookingId) {
         log.info("Get booking {}, userId={}", bookingId, userId);
         return bookingClient.getBooking(userId, bookingId);
     }
 
     @PatchMapping("/{bookingId}")
-    public ResponseEntity<Object> updateStatus(@PathVariable("bookingId") Long bookingId,
-                                               @RequestParam("approved") boolean approved,
-                                               @RequestHeader(USER_HEADER) long userId) {
+    public Mono<ResponseEntity<Object>> updateStatus(@PathVariable("bookingId") Long bookingId,
+                                                     @RequestParam("approved") boolean approved,
+                                                     @RequestHeader(USER_HEADER) long userId) {
         log.info(
                 "Received PATCH request to update approval status of Booking with ID={} to status={}",
                 bookingId,
@@ -81,4 +123,17 @@ public class BookingController {
         );
         return bookingClient.updateBooking(bookingId, approved, userId);
     }
+
+    @GetMapping("/items/{itemId}/free")
+    public Mono<ResponseEntity<Object>> getFreeSlots(@PathVariable("itemId") long itemId,
+                                                     @RequestParam("start")
+                                                     @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime start,
+                                                     @RequestParam("end")
+                                                     @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime end) {
+        if (!end.isAfter(start)) {
+            throw new GatewayException(HttpStatus.BAD_REQUEST.value(), "End of the period must be after its start");
+        }
+        log.info("Get free slots of item {} between {} and {}", itemId, start, end);
+        return bookingClient.getFreeSlots(itemId, start, end);
+    }
 }
@@ -0,0 +1,22 @@
+package ru.practicum.shareit.booking.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+import javax.validation.constraints.NotEmpty;
+import javax.validation.constraints.Size;
+import java.util.List;
+
+/**
+ * Entries are not validated here: the server checks each one and reports its own error, so one bad entry does
+ * not reject the rest.
+ */
+@Getter
+@NoArgsConstructor
+@AllArgsConstructor
+public class BulkBookItemRequestDto {
+    @NotEmpty
+    @Size(max = 100)
+    private List<BookItemRequestDto> bookings;
+}
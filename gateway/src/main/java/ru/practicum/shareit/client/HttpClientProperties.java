@@ -0,0 +1,33 @@
+package ru.practicum.shareit.client;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "shareit-server.http")
+public class HttpClientProperties {
+    private int maxConnections = 200;
+    private int maxConnectionsPerRoute = 100;
+    private Duration connectTimeout = Duration.ofSeconds(2);
+    private Duration readTimeout = Duration.ofSeconds(10);
+    private Duration connectionRequestTimeout = Duration.ofSeconds(1);
+    private Duration keepAlive = Duration.ofSeconds(30);
+    private Duration idleEviction = Duration.ofSeconds(60);
+    private final Reactive reactive = new Reactive();
+
+    /**
+     * Pool limits of the reactive mode. A waiting request holds no thread there, so the pending queue rather than
+     * the connection count bounds how many requests can be in flight at once.
+     */
+    @Getter
+    @Setter
+    public static class Reactive {
+        private int maxConnections = 500;
+        private int pendingAcquireMaxCount = 50_000;
+        private Duration pendingAcquireTimeout = Duration.ofSeconds(10);
+    }
+}
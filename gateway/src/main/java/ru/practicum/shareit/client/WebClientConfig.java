@@ -0,0 +1,65 @@
+package ru.practicum.shareit.client;
+
+import io.netty.channel.ChannelOption;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.client.reactive.ClientHttpConnector;
+import org.springframework.http.client.reactive.ReactorClientHttpConnector;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.netty.http.client.HttpClient;
+import reactor.netty.resources.ConnectionProvider;
+
+/**
+ * Reactor Netty connection pool behind the non-blocking {@link ServerTransport} used when the gateway runs in
+ * reactive mode.
+ * <p>
+ * Backpressure: at most {@code reactive.max-connections} requests talk to the server at a time, the rest wait in
+ * the pool's pending queue without holding a thread. A request fails fast with a pool-acquire error once
+ * {@code reactive.pending-acquire-max-count} requests are already waiting, or when it has waited longer than
+ * {@code reactive.pending-acquire-timeout}.
+ */
+@Configuration
+@EnableConfigurationProperties(HttpClientProperties.class)
+@ConditionalOnProperty(name = "shareit-server.client-mode", havingValue = "reactive")
+public class WebClientConfig {
+
+    private static final String POOL_NAME = "shareit-server";
+
+    @Bean(destroyMethod = "dispose")
+    public ConnectionProvider shareItServerConnectionProvider(HttpClientProperties properties) {
+        HttpClientProperties.Reactive reactive = properties.getReactive();
+        return ConnectionProvider.builder(POOL_NAME)
+                .maxConnections(reactive.getMaxConnections())
+                .pendingAcquireMaxCount(reactive.getPendingAcquireMaxCount())
+                .pendingAcquireTimeout(reactive.getPendingAcquireTimeout())
+                .maxIdleTime(properties.getKeepAlive())
+                .evictInBackground(properties.getIdleEviction())
+                .metrics(true)
+                .build();
+    }
+
+    @Bean
+    public ClientHttpConnector shareItServerConnector(ConnectionProvider shareItServerConnectionProvider,
+                                                      HttpClientProperties properties) {
+        HttpClient httpClient = HttpClient.create(shareItServerConnectionProvider)
+                .option(ChannelOption.CONNECT_TIMEOUT_MILLIS, (int) properties.getConnectTimeout().toMillis())
+                .responseTimeout(properties.getReadTimeout())
+                .keepAlive(true);
+        return new ReactorClientHttpConnector(httpClient);
+    }
+
+    @Bean
+    public ServerTransport shareItServerTransport(@Value("${shareit-server.url}") String serverUrl,
+                                                  WebClient.Builder builder,
+                                                  ClientHttpConnector shareItServerConnector) {
+        return new WebClientServerTransport(
+                builder
+                        .baseUrl(serverUrl)
+                        .clientConnector(shareItServerConnector)
+                        .build()
+        );
+    }
+}
@@ -1,12 +1,10 @@
 package ru.practicum.shareit.item;
 
-import org.springframework.beans.factory.annotation.Value;
-import org.springframework.boot.web.client.RestTemplateBuilder;
 import org.springframework.http.ResponseEntity;
-import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
 import org.springframework.stereotype.Service;
-import org.springframework.web.util.DefaultUriBuilderFactory;
+import reactor.core.publisher.Mono;
 import ru.practicum.shareit.client.BaseClient;
+import ru.practicum.shareit.client.ServerTransport;
 import ru.practicum.shareit.item.dto.CommentDto;
 import ru.practicum.shareit.item.dto.ItemDto;
 
@@ -16,31 +14,25 @@ import java.util.Map;
 public class ItemClient extends BaseClient {
     private static final String API_PREFIX = "/items";
 
-    public ItemClient(@Value("${shareit-server.url}") String serverUrl,
-                      RestTemplateBuilder builder) {
-        super(
-                builder
-                        .uriTemplateHandler(new DefaultUriBuilderFactory(serverUrl + API_PREFIX))
-                        .requestFactory(HttpComponentsClientHttpRequestFactory::new)
-                        .build()
-        );
+    public ItemClient(ServerTransport transport) {
+        super(transport, API_PREFIX);
     }
 
-    public ResponseEntity<Object> createItem(long userId, ItemDto dto) {
+    public Mono<ResponseEntity<Object>> createItem(long userId, ItemDto dto) {
         return post("", userId, dto);
     }
 
-    public ResponseEntity<Object> updateItem(long userId, ItemDto dto, long itemId) {
+    public Mono<ResponseEntity<Object>> updateItem(long userId, ItemDto dto, long itemId) {
         String path = String.format("/%d", itemId);
         return patch(path, userId, dto);
     }
 
-    public ResponseEntity<Object> getItemById(long itemId, long userId) {
+    public Mono<ResponseEntity<Object>> getItemById(long itemId, long userId) {
         String path = String.format("/%d", itemId);
         return get(path, userId);
     }
 
-    public ResponseEntity<Object> getItemsForUser(long userId, int from, int size) {
+    public Mono<ResponseEntity<Object>> getItemsForUser(long userId, int from, int size) {
         Map<String, Object> params = Map.of(
                 "from", from,
                 "size", size
@@ -48,7 +40,7 @@ public class ItemClient extends BaseClient {
         return get("?from={from}&size={size}", userId, params);
     }
 
-    public ResponseEntity<Object> searchItems(String query, int from, int size) {
+    public Mono<ResponseEntity<Object>> searchItems(String query, int from, int size) {
         Map<String, Object> params = Map.of(
                 "text", query,
                 "from", from,
@@ -57,7 +49,15 @@ public class ItemClient extends BaseClient {
         return get("/search?text={text}&from={from}&size={size}", null, params);
     }
 
-    public ResponseEntity<Object> postComment(long itemId, long userId, CommentDto dto) {
+    public Mono<ResponseEntity<Object>> getComments(long itemId, String cursor, int size) {
+        Map<String, Object> params = Map.of(
+                "cursor", cursor,
+                "size", size
+        );
+        return get(String.format("/%d/comments?cursor={cursor}&size={size}", itemId), null, params);
+    }
+
+    public Mono<ResponseEntity<Object>> postComment(long itemId, long userId, CommentDto dto) {
         String path = String.format("/%d/comment", itemId);
         return post(path, userId, dto);
     }
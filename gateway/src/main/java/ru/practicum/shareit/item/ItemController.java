@@ -5,10 +5,12 @@ import lombok.extern.slf4j.Slf4j;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Mono;
 import ru.practicum.shareit.item.dto.CommentDto;
 import ru.practicum.shareit.item.dto.ItemDto;
 
 import javax.validation.Valid;
+import javax.validation.constraints.Max;
 import javax.validation.constraints.Positive;
 import javax.validation.constraints.PositiveOrZero;
 
@@ -23,8 +25,8 @@ public class ItemController {
     private final ItemClient itemClient;
 
     @PostMapping
-    public ResponseEntity<Object> createItem(@RequestHeader(value = USER_HEADER) Long userId,
-                                             @RequestBody @Valid ItemDto dto) {
+    public Mono<ResponseEntity<Object>> createItem(@RequestHeader(value = USER_HEADER) Long userId,
+                                                   @RequestBody @Valid ItemDto dto) {
         log.info(
                 "Received POST request to create Item {} by user with id = {}",
                 dto,
@@ -34,9 +36,9 @@ public class ItemController {
     }
 
     @PatchMapping("/{itemId}")
-    public ResponseEntity<Object> updateItem(@RequestHeader(value = USER_HEADER) Long userId,
-                                             @RequestBody ItemDto dto,
-                                             @PathVariable("itemId") Long itemId) {
+    public Mono<ResponseEntity<Object>> updateItem(@RequestHeader(value = USER_HEADER) Long userId,
+                                                   @RequestBody ItemDto dto,
+                                                   @PathVariable("itemId") Long itemId) {
         log.info(
                 "Received PATCH request to update Item {} by user with id = {}",
                 dto,
@@ -46,36 +48,45 @@ public class ItemController {
     }
 
     @GetMapping("/{itemId}")
-    public ResponseEntity<Object> getItemById(@PathVariable("itemId") Long itemId,
-                                              @RequestHeader(USER_HEADER) Long userId) {
+    public Mono<ResponseEntity<Object>> getItemById(@PathVariable("itemId") Long itemId,
+                                                    @RequestHeader(USER_HEADER) Long userId) {
         log.info("Received request to GET Item by id = {}", itemId);
         return itemClient.getItemById(itemId, userId);
     }
 
     @GetMapping
-    public ResponseEntity<Object> getItemsForUser(@RequestHeader(value = "X-Sharer-User-Id") Long userId,
-                                                  @RequestParam(value = "from", defaultValue = "0", required = false)
-                                                  @PositiveOrZero int from,
-                                                  @RequestParam(value = "size", defaultValue = "10", required = false)
-                                                  @Positive int size) {
+    public Mono<ResponseEntity<Object>> getItemsForUser(@RequestHeader(value = "X-Sharer-User-Id") Long userId,
+                                                        @RequestParam(value = "from", defaultValue = "0", required = false)
+                                                        @PositiveOrZero int from,
+                                                        @RequestParam(value = "size", defaultValue = "10", required = false)
+                                                        @Positive int size) {
         log.info("Received request to GET items for user with id={}", userId);
         return itemClient.getItemsForUser(userId, from, size);
     }
 
     @GetMapping("/search")
-    public ResponseEntity<Object> searchItems(@RequestParam("text") String query,
-                                              @RequestParam(value = "from", defaultValue = "0", required = false)
-                                              @PositiveOrZero int from,
-                                              @RequestParam(value = "size", defaultValue = "10", required = false)
-                                              @Positive int size) {
+    public Mono<ResponseEntity<Object>> searchItems(@RequestParam("text") String query,
+                                                    @RequestParam(value = "from", defaultValue = "0", required = false)
+                                                    @PositiveOrZero int from,
+                                                    @RequestParam(value = "size", defaultValue = "10", required = false)
+                                                    @Positive int size) {
         log.info("Received GET request to search for items by query = {}", query);
         return itemClient.searchItems(query, from, size);
     }
 
+    @GetMapping("/{itemId}/comments")
+    public Mono<ResponseEntity<Object>> getComments(@PathVariable("itemId") Long itemId,
+                                                    @RequestParam(value = "cursor", defaultValue = "", required = false) String cursor,
+                                                    @RequestParam(value = "size", defaultValue = "10", required = false)
+                                                    @Positive @Max(100) int size) {
+        log.info("Received GET request to get comments of item with ID={} after cursor={}", itemId, cursor);
+        return itemClient.getComments(itemId, cursor, size);
+    }
+
     @PostMapping("/{itemId}/comment")
-    public ResponseEntity<Object> postComment(@PathVariable("itemId") Long itemId,
-                                              @RequestHeader(USER_HEADER) Long userId,
-                                              @RequestBody @Valid CommentDto dto) {
+    public Mono<ResponseEntity<Object>> postComment(@PathVariable("itemId") Long itemId,
+                                                    @RequestHeader(USER_HEADER) Long userId,
+                                                    @RequestBody @Valid CommentDto dto) {
         log.info(
                 "Received POST request to create comment to item with ID={} by user with ID={}",
                 itemId,
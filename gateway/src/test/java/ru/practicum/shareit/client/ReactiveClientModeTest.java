@@ -0,0 +1,83 @@
+package ru.practicum.shareit.client;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.client.TestRestTemplate;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT,
+        properties = "shareit-server.client-mode=reactive")
+public class ReactiveClientModeTest {
+    private static HttpServer shareItServer;
+
+    @Autowired
+    private TestRestTemplate rest;
+    @Autowired
+    private ServerTransport transport;
+
+    @BeforeAll
+    static void startServer() throws IOException {
+        shareItServer = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+        shareItServer.createContext("/users/1", exchange -> respond(exchange, 200,
+                "{\"id\":1,\"name\":\"user\",\"email\":\"user@mail.ru\"}"));
+        shareItServer.createContext("/users/2", exchange -> respond(exchange, 404,
+                "{\"error\":\"User not found\"}"));
+        shareItServer.start();
+    }
+
+    @AfterAll
+    static void stopServer() {
+        shareItServer.stop(0);
+    }
+
+    @DynamicPropertySource
+    static void serverUrl(DynamicPropertyRegistry registry) {
+        registry.add("shareit-server.url", () -> "http://localhost:" + shareItServer.getAddress().getPort());
+    }
+
+    @Test
+    void usesWebClientTransport() {
+        assertInstanceOf(WebClientServerTransport.class, transport);
+    }
+
+    @Test
+    void proxiesResponseStatusAndBody() {
+        ResponseEntity<String> response = rest.getForEntity("/users/1", String.class);
+
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertEquals("{\"id\":1,\"name\":\"user\",\"email\":\"user@mail.ru\"}", response.getBody());
+    }
+
+    @Test
+    void proxiesErrorStatusAndBody() {
+        ResponseEntity<String> response = rest.getForEntity("/users/2", String.class);
+
+        assertEquals(HttpStatus.NOT_FOUND, response.getStatusCode());
+        assertEquals("{\"error\":\"User not found\"}", response.getBody());
+    }
+
+    private static void respond(HttpExchange exchange, int status, String body) throws IOException {
+        byte[] bytes = body.getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().set("Content-Type", "application/json");
+        exchange.sendResponseHeaders(status, bytes.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(bytes);
+        }
+    }
+}
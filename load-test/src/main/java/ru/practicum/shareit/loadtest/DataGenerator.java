@@ -0,0 +1,195 @@
+package ru.practicum.shareit.loadtest;
+
+import lombok.extern.slf4j.Slf4j;
+import ru.practicum.shareit.item.ItemStatsRepository;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Bulk-seeds users, requests, items, bookings and comments with JDBC batches. Ids continue after the rows already
+ * in each table, and the id sequences are moved past the seeded ids so the API can keep inserting.
+ */
+@Slf4j
+public class DataGenerator {
+    static final List<String> WORDS = List.of("drill", "saw", "ladder", "tent", "bike", "camera", "kayak",
+            "projector", "hammer", "guitar", "scooter", "telescope", "mixer", "tripod", "sleeping bag");
+    private static final List<String> ADJECTIVES = List.of("cordless", "electric", "folding", "compact", "vintage",
+            "heavy", "travel", "kids", "pro", "portable");
+    private static final int BATCH_SIZE = 5_000;
+
+    private final Connection connection;
+    private final Random random = new Random(42);
+    private final LocalDateTime now = LocalDateTime.now();
+
+    public DataGenerator(Connection connection) {
+        this.connection = connection;
+    }
+
+    public void generate(LoadTestConfig config) throws SQLException {
+        connection.setAutoCommit(false);
+        long userBase = maxId("users");
+        long requestBase = maxId("requests");
+        long itemBase = maxId("items");
+        long bookingBase = maxId("bookings");
+        long commentBase = maxId("comments");
+        int users = config.getUsers();
+        if (config.getBookings() > 0 && (config.getItems() == 0 || users < 2)) {
+            throw new IllegalArgumentException("Bookings need items and at least two users, an owner and a booker");
+        }
+
+        insert("insert into users (id, name, email) values (?, ?, ?)", config.getUsers(), (ps, i) -> {
+            long id = userBase + i;
+            ps.setLong(1, id);
+            ps.setString(2, "user" + id);
+            ps.setString(3, "user" + id + "@loadtest.shareit");
+        });
+        insert("insert into requests (id, description, requester_id, created) values (?, ?, ?, ?)",
+                config.getRequests(), (ps, i) -> {
+                    ps.setLong(1, requestBase + i);
+                    ps.setString(2, "Looking for a " + word() + " for the weekend");
+                    ps.setLong(3, userBase + 1 + random.nextInt(users));
+                    ps.setTimestamp(4, Timestamp.valueOf(now.minusMinutes(random.nextInt(60 * 24 * 90))));
+                });
+        long[] owners = new long[config.getItems()];
+        insert("insert into items (id, name, description, is_available, owner_id, request_id) " +
+                "values (?, ?, ?, ?, ?, ?)", config.getItems(), (ps, i) -> {
+            String word = word();
+            owners[(int) i - 1] = userBase + 1 + random.nextInt(users);
+            ps.setLong(1, itemBase + i);
+            ps.setString(2, ADJECTIVES.get(random.nextInt(ADJECTIVES.size())) + " " + word);
+            ps.setString(3, "A well kept " + word + ", item number " + (itemBase + i));
+            ps.setBoolean(4, random.nextInt(10) != 0);
+            ps.setLong(5, owners[(int) i - 1]);
+            if (config.getRequests() > 0 && random.nextInt(5) == 0) {
+                ps.setLong(6, requestBase + 1 + random.nextInt(config.getRequests()));
+            } else {
+                ps.setNull(6, java.sql.Types.BIGINT);
+            }
+        });
+        // Bookings of one item follow each other without overlapping, on average over two years from a year back,
+        // and nobody books their own item: the same invariants the booking API enforces
+        long bookingWindow = 2 * 365 * 24 * 60;
+        long bookingsPerItem = Math.max(1, config.getBookings() / Math.max(1, config.getItems()));
+        // a booking lasts 36.5 hours on average, the gaps between bookings fill the rest of the window
+        int meanGap = (int) Math.max(1, bookingWindow / bookingsPerItem - 2190);
+        LocalDateTime[] nextFree = new LocalDateTime[config.getItems()];
+        for (int item = 0; item < nextFree.length; item++) {
+            nextFree[item] = now.minusDays(365).plusMinutes(random.nextInt(meanGap));
+        }
+        List<long[]> finishedApproved = new ArrayList<>();
+        insert("insert into bookings (id, start_date, end_date, item_id, booker_id, status) " +
+                "values (?, ?, ?, ?, ?, ?)", config.getBookings(), (ps, i) -> {
+            int item = random.nextInt(config.getItems());
+            LocalDateTime start = nextFree[item].plusMinutes(random.nextInt(2 * meanGap));
+            LocalDateTime end = start.plusHours(1 + random.nextInt(72));
+            nextFree[item] = end;
+            long booker = userBase + 1 + random.nextInt(users - 1);
+            if (booker >= owners[item]) {
+                booker++;
+            }
+            String status = status(start);
+            ps.setLong(1, bookingBase + i);
+            ps.setTimestamp(2, Timestamp.valueOf(start));
+            ps.setTimestamp(3, Timestamp.valueOf(end));
+            ps.setLong(4, itemBase + 1 + item);
+            ps.setLong(5, booker);
+            ps.setString(6, status);
+            if ("APPROVED".equals(status) && end.isBefore(now)) {
+                finishedApproved.add(new long[]{itemBase + 1 + item, booker, Duration.between(end, now).toMinutes()});
+            }
+        });
+        // Only a booker whose approved booking has ended may comment, after that booking
+        int comments = finishedApproved.isEmpty() ? 0 : config.getComments();
+        insert("insert into comments (id, text, item_id, author_id, created) values (?, ?, ?, ?, ?)",
+                comments, (ps, i) -> {
+                    long[] booking = finishedApproved.get(random.nextInt(finishedApproved.size()));
+                    ps.setLong(1, commentBase + i);
+                    ps.setString(2, "Worked great, would rent again (" + (commentBase + i) + ")");
+                    ps.setLong(3, booking[0]);
+                    ps.setLong(4, booking[1]);
+                    ps.setTimestamp(5, Timestamp.valueOf(now.minusMinutes(random.nextInt((int) booking[2] + 1))));
+                });
+        seedItemStats(itemBase);
+
+        for (String table : List.of("users", "requests", "items", "bookings", "comments")) {
+            restartSequence(table);
+        }
+        connection.commit();
+    }
+
+    private String word() {
+        return WORDS.get(random.nextInt(WORDS.size()));
+    }
+
+    private String status(LocalDateTime start) {
+        int roll = random.nextInt(10);
+        if (start.isAfter(now)) {
+            return roll < 5 ? "WAITING" : roll < 9 ? "APPROVED" : "REJECTED";
+        }
+        return roll < 8 ? "APPROVED" : roll < 9 ? "REJECTED" : "CANCELED";
+    }
+
+    private long maxId(String table) throws SQLException {
+        try (Statement statement = connection.createStatement();
+             ResultSet rs = statement.executeQuery("select coalesce(max(id), 0) from " + table)) {
+            rs.next();
+            return rs.getLong(1);
+        }
+    }
+
+    /**
+     * Moves the {@code <table>_seq} sequence the server allocates ids from past the seeded rows.
+     */
+    private void restartSequence(String table) throws SQLException {
+        long next = maxId(table) + 1;
+        String sql = connection.getMetaData().getDatabaseProductName().startsWith("PostgreSQL")
+                ? "select setval('" + table + "_seq', " + next + ", false)"
+                : "alter sequence " + table + "_seq restart with " + next;
+        try (Statement statement = connection.createStatement()) {
+            statement.execute(sql);
+        }
+    }
+
+    /**
+     * The server keeps per-item counters in {@code item_stats}; the seeded items get theirs from the server's own
+     * recount query, so a new counter cannot be missed here.
+     */
+    private void seedItemStats(long itemBase) throws SQLException {
+        try (Statement statement = connection.createStatement()) {
+            statement.executeUpdate("insert into item_stats " +
+                    "(item_id, comment_count, booking_count, approved_booking_count, last_booked_at) " +
+                    ItemStatsRepository.COMPUTE_STATS + "where i.id > " + itemBase);
+        }
+    }
+
+    private void insert(String sql, int rows, RowWriter writer) throws SQLException {
+        long started = System.nanoTime();
+        try (PreparedStatement ps = connection.prepareStatement(sql)) {
+            for (int i = 1; i <= rows; i++) {
+                writer.write(ps, i);
+                ps.addBatch();
+                if (i % BATCH_SIZE == 0 || i == rows) {
+                    ps.executeBatch();
+                    connection.commit();
+                }
+            }
+        }
+        log.info("{} rows in {} ms: {}", rows, (System.nanoTime() - started) / 1_000_000,
+                sql.substring(0, sql.indexOf('(')).trim());
+    }
+
+    @FunctionalInterface
+    private interface RowWriter {
+        void write(PreparedStatement ps, long index) throws SQLException;
+    }
+}
@@ -0,0 +1,74 @@
+package ru.practicum.shareit.loadtest;
+
+import lombok.Getter;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ConcurrentLinkedQueue;
+
+/**
+ * Ids the workload can address, sampled from the database so a run also works against data seeded earlier.
+ * Each entry is a pair: the row id and the user allowed to act on it.
+ */
+@Getter
+public class Dataset {
+    private static final int SAMPLE_SIZE = 20_000;
+
+    private final long[] userIds;
+    private final long[] requestIds;
+    private final List<long[]> itemsWithOwner;
+    private final List<long[]> bookingsWithBooker;
+    private final List<long[]> finishedBookingItemsWithBooker;
+    private final ConcurrentLinkedQueue<long[]> waitingBookingsWithOwner;
+
+    private Dataset(Connection connection) throws SQLException {
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        userIds = column(connection, "select id from users");
+        requestIds = column(connection, "select id from requests");
+        itemsWithOwner = pairs(connection, "select id, owner_id from items", null);
+        bookingsWithBooker = pairs(connection, "select id, booker_id from bookings", null);
+        finishedBookingItemsWithBooker = pairs(connection, "select item_id, booker_id from bookings " +
+                "where status = 'APPROVED' and end_date < ?", now);
+        waitingBookingsWithOwner = new ConcurrentLinkedQueue<>(pairs(connection, "select b.id, i.owner_id " +
+                "from bookings b join items i on i.id = b.item_id where b.status = 'WAITING' and b.start_date > ?", now));
+        if (userIds.length == 0 || itemsWithOwner.isEmpty()) {
+            throw new IllegalStateException("No users or items to load test against, run with --seed=true");
+        }
+    }
+
+    public static Dataset load(Connection connection) throws SQLException {
+        return new Dataset(connection);
+    }
+
+    private static long[] column(Connection connection, String sql) throws SQLException {
+        List<long[]> rows = pairs(connection, sql, null);
+        return rows.stream().mapToLong(row -> row[0]).toArray();
+    }
+
+    private static List<long[]> pairs(Connection connection, String sql, Timestamp now) throws SQLException {
+        List<long[]> rows = new ArrayList<>();
+        try (PreparedStatement ps = connection.prepareStatement(sql)) {
+            ps.setMaxRows(SAMPLE_SIZE);
+            if (now != null) {
+                ps.setTimestamp(1, now);
+            }
+            try (ResultSet rs = ps.executeQuery()) {
+                int columns = rs.getMetaData().getColumnCount();
+                while (rs.next()) {
+                    long[] row = new long[columns];
+                    for (int i = 0; i < columns; i++) {
+                        row[i] = rs.getLong(i + 1);
+                    }
+                    rows.add(row);
+                }
+            }
+        }
+        return rows;
+    }
+}
@@ -0,0 +1,101 @@
+package ru.practicum.shareit.loadtest;
+
+import lombok.extern.slf4j.Slf4j;
+import org.h2.tools.Server;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Local gateway → server → H2 stack. The database runs in this JVM as an H2 TCP server, so the generator can
+ * seed it over JDBC while the ShareIt server, started from its executable jar, serves from the same schema.
+ */
+@Slf4j
+public class EmbeddedStack implements AutoCloseable {
+    private static final Duration STARTUP_TIMEOUT = Duration.ofMinutes(3);
+
+    private final LoadTestConfig config;
+    private final List<Process> processes = new ArrayList<>();
+    private Server database;
+
+    public EmbeddedStack(LoadTestConfig config) {
+        this.config = config;
+    }
+
+    public void start() throws IOException, SQLException, InterruptedException {
+        database = Server.createTcpServer("-tcpPort", String.valueOf(config.getH2Port()), "-ifNotExists").start();
+        log.info("H2 listening on {}", database.getURL());
+        Files.createDirectories(config.getLogDir());
+
+        start("server", List.of(
+                "java", "-jar", config.getServerJar().toString(),
+                "--spring.profiles.active=ci",
+                "--spring.datasource.url=" + config.getJdbcUrl(),
+                "--spring.datasource.username=" + config.getJdbcUser(),
+                "--spring.datasource.password=" + config.getJdbcPassword()));
+        awaitHealthy("http://localhost:9090/actuator/health");
+
+        start("gateway", List.of("java", "-jar", config.getGatewayJar().toString()));
+        awaitHealthy(config.getGatewayUrl() + "/actuator/health");
+    }
+
+    private void start(String name, List<String> command) throws IOException {
+        Process process = new ProcessBuilder(command)
+                .redirectErrorStream(true)
+                .redirectOutput(config.getLogDir().resolve(name + ".log").toFile())
+                .start();
+        processes.add(process);
+        log.info("Started {} (pid {}), log in {}", name, process.pid(), config.getLogDir().resolve(name + ".log"));
+    }
+
+    private void awaitHealthy(String url) throws InterruptedException {
+        HttpClient client = HttpClient.newHttpClient();
+        HttpRequest request = HttpRequest.newBuilder(URI.create(url)).GET().build();
+        Instant deadline = Instant.now().plus(STARTUP_TIMEOUT);
+        while (Instant.now().isBefore(deadline)) {
+            processes.stream()
+                    .filter(process -> !process.isAlive())
+                    .findAny()
+                    .ifPresent(process -> {
+                        throw new IllegalStateException("Process " + process.pid() + " exited with code "
+                                + process.exitValue() + ", see logs in " + config.getLogDir());
+                    });
+            try {
+                if (client.send(request, HttpResponse.BodyHandlers.discarding()).statusCode() == 200) {
+                    log.info("{} is up", url);
+                    return;
+                }
+            } catch (IOException e) {
+                // not listening yet
+            }
+            Thread.sleep(500);
+        }
+        throw new IllegalStateException(url + " did not become healthy within " + STARTUP_TIMEOUT);
+    }
+
+    @Override
+    public void close() {
+        for (int i = processes.size() - 1; i >= 0; i--) {
+            processes.get(i).destroy();
+        }
+        for (Process process : processes) {
+            try {
+                process.waitFor();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        if (database != null) {
+            database.stop();
+        }
+    }
+}
@@ -0,0 +1,125 @@
+package ru.practicum.shareit.loadtest;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Collects per-endpoint latencies and status classes and prints throughput with p50/p95/p99.
+ */
+public class LatencyReport {
+    private static final String TOTAL = "TOTAL";
+
+    private final Map<String, Samples> samples = new ConcurrentHashMap<>();
+
+    public void record(String name, long nanos, int status) {
+        samples.computeIfAbsent(name, key -> new Samples()).add(nanos, status);
+    }
+
+    public void print(PrintStream out, Duration elapsed) {
+        out.printf("%-26s %9s %9s %7s %7s %9s %9s %9s %9s%n",
+                "endpoint", "requests", "req/s", "4xx", "5xx/io", "p50 ms", "p95 ms", "p99 ms", "max ms");
+        for (Row row : rows(elapsed)) {
+            out.printf("%-26s %9d %9.1f %7d %7d %9.1f %9.1f %9.1f %9.1f%n", row.name, row.count, row.throughput,
+                    row.clientErrors, row.serverErrors, row.p50, row.p95, row.p99, row.max);
+        }
+    }
+
+    public void writeCsv(Path path, Duration elapsed) throws IOException {
+        List<String> lines = new ArrayList<>();
+        lines.add("endpoint,requests,throughput,client_errors,server_errors,p50_ms,p95_ms,p99_ms,max_ms");
+        for (Row row : rows(elapsed)) {
+            lines.add(String.format(java.util.Locale.ROOT, "%s,%d,%.2f,%d,%d,%.2f,%.2f,%.2f,%.2f", row.name,
+                    row.count, row.throughput, row.clientErrors, row.serverErrors, row.p50, row.p95, row.p99,
+                    row.max));
+        }
+        Files.write(path, lines);
+    }
+
+    private List<Row> rows(Duration elapsed) {
+        Samples total = new Samples();
+        List<Row> rows = new ArrayList<>();
+        new TreeMap<>(samples).forEach((name, endpoint) -> {
+            rows.add(new Row(name, endpoint, elapsed));
+            total.addAll(endpoint);
+        });
+        rows.add(new Row(TOTAL, total, elapsed));
+        return rows;
+    }
+
+    private static final class Samples {
+        private long[] nanos = new long[1024];
+        private int count;
+        private int clientErrors;
+        private int serverErrors;
+
+        synchronized void add(long latency, int status) {
+            if (count == nanos.length) {
+                nanos = Arrays.copyOf(nanos, count * 2);
+            }
+            nanos[count++] = latency;
+            if (status >= 400 && status < 500) {
+                clientErrors++;
+            } else if (status >= 500 || status < 0) {
+                serverErrors++;
+            }
+        }
+
+        synchronized void addAll(Samples other) {
+            synchronized (other) {
+                for (int i = 0; i < other.count; i++) {
+                    add(other.nanos[i], 200);
+                }
+                clientErrors += other.clientErrors;
+                serverErrors += other.serverErrors;
+            }
+        }
+
+        synchronized long[] sorted() {
+            long[] copy = Arrays.copyOf(nanos, count);
+            Arrays.sort(copy);
+            return copy;
+        }
+    }
+
+    private static final class Row {
+        private final String name;
+        private final int count;
+        private final double throughput;
+        private final int clientErrors;
+        private final int serverErrors;
+        private final double p50;
+        private final double p95;
+        private final double p99;
+        private final double max;
+
+        private Row(String name, Samples samples, Duration elapsed) {
+            long[] sorted = samples.sorted();
+            this.name = name;
+            this.count = sorted.length;
+            this.throughput = count * 1_000.0 / Math.max(1, elapsed.toMillis());
+            this.clientErrors = samples.clientErrors;
+            this.serverErrors = samples.serverErrors;
+            this.p50 = percentile(sorted, 50);
+            this.p95 = percentile(sorted, 95);
+            this.p99 = percentile(sorted, 99);
+            this.max = sorted.length == 0 ? 0 : sorted[sorted.length - 1] / 1e6;
+        }
+
+        private static double percentile(long[] sorted, int percentile) {
+            if (sorted.length == 0) {
+                return 0;
+            }
+            int index = (int) Math.ceil(percentile / 100.0 * sorted.length) - 1;
+            return sorted[Math.max(0, index)] / 1e6;
+        }
+    }
+}
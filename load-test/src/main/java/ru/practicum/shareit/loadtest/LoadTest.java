@@ -0,0 +1,50 @@
+package ru.practicum.shareit.loadtest;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.time.Duration;
+
+/**
+ * End-to-end load test of the gateway → server → database path.
+ * <p>
+ * Against a local embedded stack (H2 in this JVM, server and gateway jars as child processes):
+ * {@code mvn package -DskipTests && java -jar load-test/target/load-test.jar}.
+ * Against {@code docker-compose up}: add {@code --target=external}; the PostgreSQL container is seeded through
+ * its published port. Other options: {@code --users --items --requests --bookings --comments --seed
+ * --concurrency --warmup --duration} (seconds) and {@code --report=path.csv}.
+ */
+@Slf4j
+public class LoadTest {
+
+    public static void main(String[] args) throws Exception {
+        LoadTestConfig config = LoadTestConfig.parse(args);
+        EmbeddedStack stack = new EmbeddedStack(config);
+        try {
+            if (config.getTarget() == LoadTestConfig.Target.EMBEDDED) {
+                stack.start();
+            }
+            Dataset dataset;
+            try (Connection connection = DriverManager.getConnection(config.getJdbcUrl(), config.getJdbcUser(),
+                    config.getJdbcPassword())) {
+                if (config.isSeed()) {
+                    new DataGenerator(connection).generate(config);
+                }
+                dataset = Dataset.load(connection);
+            }
+
+            WorkloadDriver driver = new WorkloadDriver(new Workload(config.getGatewayUrl(), dataset),
+                    config.getConcurrency());
+            LatencyReport report = driver.run(config.getWarmup(), config.getDuration());
+            report.print(System.out, config.getDuration());
+            if (config.getReport() != null) {
+                report.writeCsv(config.getReport(), config.getDuration());
+                log.info("Report written to {}", config.getReport());
+            }
+        } finally {
+            stack.close();
+        }
+        System.exit(0);
+    }
+}
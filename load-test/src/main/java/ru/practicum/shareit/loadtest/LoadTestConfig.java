@@ -0,0 +1,82 @@
+package ru.practicum.shareit.loadtest;
+
+import lombok.Getter;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Command line options, given as {@code --name=value}. Every option has a default, so a bare run seeds a
+ * small data set into an embedded H2 stack and drives it for a minute.
+ */
+@Getter
+public class LoadTestConfig {
+    private final Target target;
+    private final String gatewayUrl;
+    private final String jdbcUrl;
+    private final String jdbcUser;
+    private final String jdbcPassword;
+    private final boolean seed;
+    private final int users;
+    private final int items;
+    private final int requests;
+    private final int bookings;
+    private final int comments;
+    private final int concurrency;
+    private final Duration warmup;
+    private final Duration duration;
+    private final Path serverJar;
+    private final Path gatewayJar;
+    private final int h2Port;
+    private final Path logDir;
+    private final Path report;
+
+    public enum Target {
+        /**
+         * Starts an in-process H2 TCP database plus the server and gateway jars as child processes.
+         */
+        EMBEDDED,
+        /**
+         * Uses an already running stack, e.g. {@code docker-compose up}.
+         */
+        EXTERNAL
+    }
+
+    private LoadTestConfig(Map<String, String> options) {
+        target = Target.valueOf(options.getOrDefault("target", "embedded").toUpperCase());
+        h2Port = Integer.parseInt(options.getOrDefault("h2-port", "9092"));
+        gatewayUrl = options.getOrDefault("gateway-url", "http://localhost:8080");
+        jdbcUrl = options.getOrDefault("jdbc-url", target == Target.EMBEDDED
+                ? "jdbc:h2:tcp://localhost:" + h2Port + "/mem:shareit;DB_CLOSE_DELAY=-1"
+                : "jdbc:postgresql://localhost:6541/shareit");
+        jdbcUser = options.getOrDefault("jdbc-user", target == Target.EMBEDDED ? "test" : "shareit");
+        jdbcPassword = options.getOrDefault("jdbc-password", target == Target.EMBEDDED ? "test" : "shareit");
+        seed = Boolean.parseBoolean(options.getOrDefault("seed", "true"));
+        users = Integer.parseInt(options.getOrDefault("users", "1000"));
+        items = Integer.parseInt(options.getOrDefault("items", "5000"));
+        requests = Integer.parseInt(options.getOrDefault("requests", "500"));
+        bookings = Integer.parseInt(options.getOrDefault("bookings", "50000"));
+        comments = Integer.parseInt(options.getOrDefault("comments", "10000"));
+        concurrency = Integer.parseInt(options.getOrDefault("concurrency", "64"));
+        warmup = Duration.ofSeconds(Long.parseLong(options.getOrDefault("warmup", "10")));
+        duration = Duration.ofSeconds(Long.parseLong(options.getOrDefault("duration", "60")));
+        serverJar = Path.of(options.getOrDefault("server-jar", "server/target/shareit-server-0.0.1-SNAPSHOT-exec.jar"));
+        gatewayJar = Path.of(options.getOrDefault("gateway-jar", "gateway/target/shareit-gateway-0.0.1-SNAPSHOT.jar"));
+        logDir = Path.of(options.getOrDefault("log-dir", "load-test/target"));
+        report = options.containsKey("report") ? Path.of(options.get("report")) : null;
+    }
+
+    public static LoadTestConfig parse(String[] args) {
+        Map<String, String> options = new HashMap<>();
+        for (String arg : args) {
+            if (!arg.startsWith("--") || !arg.contains("=")) {
+                throw new IllegalArgumentException("Expected --name=value but got " + arg);
+            }
+            int eq = arg.indexOf('=');
+            options.put(arg.substring(2, eq), arg.substring(eq + 1));
+        }
+        return new LoadTestConfig(options);
+    }
+}
@@ -0,0 +1,159 @@
+package ru.practicum.shareit.loadtest;
+
+import java.net.URI;
+import java.net.URLEncoder;
+import java.net.http.HttpRequest;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.StringJoiner;
+import java.util.function.Function;
+
+/**
+ * Weighted mix of the gateway endpoints, read-heavy like the real traffic: item pages and search dominate,
+ * with a steady trickle of bookings, approvals and comments.
+ */
+public class Workload {
+    private static final String USER_HEADER = "X-Sharer-User-Id";
+    private static final Duration TIMEOUT = Duration.ofSeconds(30);
+
+    private final String baseUrl;
+    private final Dataset dataset;
+    private final List<Operation> operations = new ArrayList<>();
+    private final int totalWeight;
+
+    public Workload(String baseUrl, Dataset dataset) {
+        this.baseUrl = baseUrl;
+        this.dataset = dataset;
+        add("GET /items/{id}", 20, r -> {
+            long[] item = pick(r, dataset.getItemsWithOwner());
+            return get("/items/" + item[0], r.nextBoolean() ? item[1] : user(r));
+        });
+        add("GET /items", 10, r -> get("/items?from=0&size=20", pick(r, dataset.getItemsWithOwner())[1]));
+        add("GET /items/{id}/comments", 3, r -> get("/items/" + pick(r, dataset.getItemsWithOwner())[0]
+                + "/comments?size=20", user(r)));
+        add("GET /items/search", 15, r -> get("/items/search?from=0&size=20&text="
+                + URLEncoder.encode(pick(r, DataGenerator.WORDS), StandardCharsets.UTF_8), user(r)));
+        add("GET /bookings", 12, r -> get("/bookings?state=" + state(r) + "&from=0&size=20", user(r)));
+        add("GET /bookings/owner", 8, r -> get("/bookings/owner?state=" + state(r) + "&from=0&size=20",
+                pick(r, dataset.getItemsWithOwner())[1]));
+        add("GET /bookings/owner/summary", 2, r -> get("/bookings/owner/summary",
+                pick(r, dataset.getItemsWithOwner())[1]));
+        add("GET /bookings/{id}", 5, r -> {
+            long[] booking = pick(r, dataset.getBookingsWithBooker());
+            return booking == null ? null : get("/bookings/" + booking[0], booking[1]);
+        });
+        add("POST /bookings", 8, r -> {
+            long[] item = pick(r, dataset.getItemsWithOwner());
+            LocalDateTime start = LocalDateTime.now().truncatedTo(ChronoUnit.SECONDS)
+                    .plusDays(1 + r.nextInt(365)).plusHours(r.nextInt(24));
+            String body = String.format("{\"itemId\":%d,\"start\":\"%s\",\"end\":\"%s\"}",
+                    item[0], start, start.plusDays(1 + r.nextInt(3)));
+            return post("/bookings", user(r), body);
+        });
+        add("POST /bookings/bulk", 1, r -> {
+            long[] item = pick(r, dataset.getItemsWithOwner());
+            LocalDateTime start = LocalDateTime.now().truncatedTo(ChronoUnit.SECONDS)
+                    .plusDays(1 + r.nextInt(365)).plusHours(r.nextInt(24));
+            StringJoiner bookings = new StringJoiner(",", "{\"bookings\":[", "]}");
+            for (int week = 0; week < 5; week++) {
+                bookings.add(String.format("{\"itemId\":%d,\"start\":\"%s\",\"end\":\"%s\"}",
+                        item[0], start.plusWeeks(week), start.plusWeeks(week).plusHours(2)));
+            }
+            return post("/bookings/bulk", user(r), bookings.toString());
+        });
+        add("PATCH /bookings/{id}", 3, r -> {
+            long[] booking = dataset.getWaitingBookingsWithOwner().poll();
+            if (booking == null) {
+                return null;
+            }
+            return request("/bookings/" + booking[0] + "?approved=" + (r.nextInt(4) != 0), booking[1])
+                    .method("PATCH", HttpRequest.BodyPublishers.noBody())
+                    .build();
+        });
+        add("POST /items/{id}/comment", 2, r -> {
+            long[] booking = pick(r, dataset.getFinishedBookingItemsWithBooker());
+            return booking == null ? null : post("/items/" + booking[0] + "/comment", booking[1],
+                    "{\"text\":\"Load test comment\"}");
+        });
+        add("GET /requests", 4, r -> get("/requests", user(r)));
+        add("GET /requests/all", 5, r -> get("/requests/all?from=0&size=20", user(r)));
+        add("GET /requests/{id}", 3, r -> dataset.getRequestIds().length == 0 ? null
+                : get("/requests/" + dataset.getRequestIds()[r.nextInt(dataset.getRequestIds().length)], user(r)));
+        add("GET /users/{id}", 5, r -> get("/users/" + user(r), null));
+        totalWeight = operations.stream().mapToInt(Operation::getWeight).sum();
+    }
+
+    /**
+     * Picks an operation by weight and builds its request; falls back to another pick when the chosen
+     * operation has run out of data, such as waiting bookings to approve.
+     */
+    public Call next(Random random) {
+        while (true) {
+            int roll = random.nextInt(totalWeight);
+            for (Operation operation : operations) {
+                roll -= operation.getWeight();
+                if (roll < 0) {
+                    HttpRequest request = operation.getFactory().apply(random);
+                    if (request != null) {
+                        return new Call(operation.getName(), request);
+                    }
+                    break;
+                }
+            }
+        }
+    }
+
+    private void add(String name, int weight, Function<Random, HttpRequest> factory) {
+        operations.add(new Operation(name, weight, factory));
+    }
+
+    private long user(Random random) {
+        return dataset.getUserIds()[random.nextInt(dataset.getUserIds().length)];
+    }
+
+    private static String state(Random random) {
+        String[] states = {"ALL", "CURRENT", "PAST", "FUTURE", "WAITING", "REJECTED"};
+        return states[random.nextInt(states.length)];
+    }
+
+    private static <T> T pick(Random random, List<T> values) {
+        return values.isEmpty() ? null : values.get(random.nextInt(values.size()));
+    }
+
+    private HttpRequest get(String path, Long userId) {
+        return request(path, userId).GET().build();
+    }
+
+    private HttpRequest post(String path, long userId, String body) {
+        return request(path, userId)
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(body))
+                .build();
+    }
+
+    private HttpRequest.Builder request(String path, Long userId) {
+        HttpRequest.Builder builder = HttpRequest.newBuilder(URI.create(baseUrl + path)).timeout(TIMEOUT);
+        if (userId != null) {
+            builder.header(USER_HEADER, String.valueOf(userId));
+        }
+        return builder;
+    }
+
+    @lombok.Value
+    private static class Operation {
+        String name;
+        int weight;
+        Function<Random, HttpRequest> factory;
+    }
+
+    @lombok.Value
+    public static class Call {
+        String name;
+        HttpRequest request;
+    }
+}
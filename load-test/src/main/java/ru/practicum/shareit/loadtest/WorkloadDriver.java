@@ -0,0 +1,77 @@
+package ru.practicum.shareit.loadtest;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.IOException;
+import java.net.http.HttpClient;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.Random;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Closed-loop driver: {@code concurrency} workers each send the next call of the mix as soon as the previous
+ * response arrives. Latencies are recorded only after the warm-up period.
+ */
+@Slf4j
+public class WorkloadDriver {
+    private final Workload workload;
+    private final int concurrency;
+    private final HttpClient httpClient;
+
+    public WorkloadDriver(Workload workload, int concurrency) {
+        this.workload = workload;
+        this.concurrency = concurrency;
+        this.httpClient = HttpClient.newBuilder()
+                .connectTimeout(Duration.ofSeconds(5))
+                .executor(Executors.newFixedThreadPool(Math.max(2, concurrency / 8)))
+                .build();
+    }
+
+    public LatencyReport run(Duration warmup, Duration duration) throws InterruptedException {
+        LatencyReport report = new LatencyReport();
+        long warmupEnds = System.nanoTime() + warmup.toNanos();
+        long runEnds = warmupEnds + duration.toNanos();
+        CountDownLatch done = new CountDownLatch(concurrency);
+        ExecutorService workers = Executors.newFixedThreadPool(concurrency);
+        log.info("Driving {} concurrent clients: {}s warm-up, {}s measured", concurrency,
+                warmup.toSeconds(), duration.toSeconds());
+        for (int worker = 0; worker < concurrency; worker++) {
+            Random random = new Random(worker);
+            workers.execute(() -> {
+                try {
+                    long now;
+                    while ((now = System.nanoTime()) < runEnds) {
+                        Workload.Call call = workload.next(random);
+                        int status = send(call);
+                        long latency = System.nanoTime() - now;
+                        if (now >= warmupEnds) {
+                            report.record(call.getName(), latency, status);
+                        }
+                    }
+                } finally {
+                    done.countDown();
+                }
+            });
+        }
+        done.await();
+        workers.shutdown();
+        workers.awaitTermination(1, TimeUnit.MINUTES);
+        return report;
+    }
+
+    private int send(Workload.Call call) {
+        try {
+            return httpClient.send(call.getRequest(), HttpResponse.BodyHandlers.discarding()).statusCode();
+        } catch (IOException e) {
+            log.debug("{} failed: {}", call.getName(), e.toString());
+            return -1;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return -1;
+        }
+    }
+}
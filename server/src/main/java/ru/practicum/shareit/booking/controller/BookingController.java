@@ -2,12 +2,19 @@ package ru.practicum.shareit.booking.controller;
 
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.web.bind.annotation.*;
+import ru.practicum.shareit.booking.dto.BookingCursorPageDto;
 import ru.practicum.shareit.booking.dto.BookingRequestDto;
 import ru.practicum.shareit.booking.dto.BookingResponseDto;
+import ru.practicum.shareit.booking.dto.BulkBookingRequestDto;
+import ru.practicum.shareit.booking.dto.BulkBookingResultDto;
+import ru.practicum.shareit.booking.dto.FreeSlotDto;
+import ru.practicum.shareit.booking.dto.OwnerBookingSummaryDto;
 import ru.practicum.shareit.booking.model.State;
 import ru.practicum.shareit.booking.service.BookingService;
 
+import java.time.LocalDateTime;
 import java.util.List;
 
 @Slf4j
@@ -27,6 +34,14 @@ public class BookingController {
         return bookingService.create(bookingRequestDto, bookerId);
     }
 
+    @ResponseBody
+    @PostMapping("/bulk")
+    public List<BulkBookingResultDto> createAll(@RequestBody BulkBookingRequestDto bulkBookingRequestDto,
+                                                @RequestHeader(USER_HEADER) Long bookerId) {
+        log.info("Received POST request to create {} bookings", bulkBookingRequestDto.getBookings().size());
+        return bookingService.createAll(bulkBookingRequestDto.getBookings(), bookerId);
+    }
+
     @ResponseBody
     @PatchMapping("/{bookingId}")
     public BookingResponseDto update(@PathVariable("bookingId") Long bookingId,
@@ -60,4 +75,38 @@ public class BookingController {
         log.info("Received GET request to get all bookings of owner with id={}, in state={}", ownerId, state);
         return bookingService.getBookingsOfOwner(ownerId, state, from, size);
     }
-}
\ No newline at end of file
+
+    @GetMapping("/owner/summary")
+    public OwnerBookingSummaryDto getOwnerSummary(@RequestHeader(USER_HEADER) Long ownerId) {
+        log.info("Received GET request to get booking summary of owner with id={}", ownerId);
+        return bookingService.getOwnerSummary(ownerId);
+    }
+
+    @GetMapping(params = "cursor")
+    public BookingCursorPageDto getBookingsOfUserAfter(@RequestHeader(USER_HEADER) Long bookerId,
+                                                       @RequestParam(value = "state", required = false, defaultValue = "ALL") State state,
+                                                       @RequestParam(value = "cursor") String cursor,
+                                                       @RequestParam(value = "size", required = false, defaultValue = "10") Integer size) {
+        log.info("Received GET request to get bookings of user with id={} in state={} after cursor={}", bookerId, state, cursor);
+        return bookingService.getBookingsOfUserAfter(bookerId, state, cursor, size);
+    }
+
+    @GetMapping(value = "/owner", params = "cursor")
+    public BookingCursorPageDto getBookingsOfOwnerAfter(@RequestHeader(USER_HEADER) Long ownerId,
+                                                        @RequestParam(value = "state", required = false, defaultValue = "ALL") State state,
+                                                        @RequestParam(value = "cursor") String cursor,
+                                                        @RequestParam(value = "size", required = false, defaultValue = "10") Integer size) {
+        log.info("Received GET request to get bookings of owner with id={} in state={} after cursor={}", ownerId, state, cursor);
+        return bookingService.getBookingsOfOwnerAfter(ownerId, state, cursor, size);
+    }
+
+    @GetMapping("/items/{itemId}/free")
+    public List<FreeSlotDto> getFreeSlots(@PathVariable("itemId") Long itemId,
+                                          @RequestParam("start")
+                                          @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime start,
+                                          @RequestParam("end")
+                                          @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime end) {
+        log.info("Received GET request to get free slots of item with id={} between {} and {}", itemId, start, end);
+        return bookingService.getFreeSlots(itemId, start, end);
+    }
+}
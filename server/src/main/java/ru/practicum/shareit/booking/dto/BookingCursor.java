@@ -0,0 +1,31 @@
+package ru.practicum.shareit.booking.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.pagination.KeysetCursorCodec;
+
+import java.time.LocalDateTime;
+
+/**
+ * Position in a booking list ordered by {@code start desc, id desc}: the next page starts right after the booking
+ * with this start and id.
+ */
+@Getter
+@AllArgsConstructor
+public final class BookingCursor {
+    private final LocalDateTime start;
+    private final Long id;
+
+    public static BookingCursor of(Booking booking) {
+        return new BookingCursor(booking.getStart(), booking.getId());
+    }
+
+    public static BookingCursor decode(String token) {
+        return KeysetCursorCodec.decode(token, BookingCursor::new);
+    }
+
+    public String encode() {
+        return KeysetCursorCodec.encode(start, id);
+    }
+}
@@ -0,0 +1,16 @@
+package ru.practicum.shareit.booking.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+import java.util.List;
+
+/**
+ * One page of a cursor-paged booking list; {@code nextCursor} is {@code null} on the last page.
+ */
+@Data
+@AllArgsConstructor
+public final class BookingCursorPageDto {
+    private List<BookingResponseDto> bookings;
+    private String nextCursor;
+}
@@ -0,0 +1,15 @@
+package ru.practicum.shareit.booking.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+/**
+ * Outcome of one entry of a bulk booking request: the created booking, or the reason it was refused.
+ */
+@Data
+@AllArgsConstructor
+public final class BulkBookingResultDto {
+    private int index;
+    private BookingResponseDto booking;
+    private String error;
+}
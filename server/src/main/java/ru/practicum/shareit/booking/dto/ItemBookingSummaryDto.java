@@ -0,0 +1,19 @@
+package ru.practicum.shareit.booking.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import ru.practicum.shareit.booking.model.State;
+
+import java.util.Map;
+
+/**
+ * Bookings of one item per {@link State}; {@code approved} counts the bookings the owner has accepted.
+ */
+@Data
+@AllArgsConstructor
+public final class ItemBookingSummaryDto {
+    private Long itemId;
+    private String itemName;
+    private Map<State, Long> counts;
+    private long approved;
+}
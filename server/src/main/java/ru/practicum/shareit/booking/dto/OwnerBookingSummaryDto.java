@@ -0,0 +1,18 @@
+package ru.practicum.shareit.booking.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import ru.practicum.shareit.booking.model.State;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Booking counts of an owner per {@link State}, in total and for each of the owner's items.
+ */
+@Data
+@AllArgsConstructor
+public final class OwnerBookingSummaryDto {
+    private Map<State, Long> counts;
+    private List<ItemBookingSummaryDto> items;
+}
@@ -0,0 +1,24 @@
+package ru.practicum.shareit.booking.dto;
+
+/**
+ * Booking counts of one item of an owner, one column per {@link ru.practicum.shareit.booking.model.State}.
+ */
+public interface OwnerItemBookingView {
+    Long getItemId();
+
+    String getItemName();
+
+    Long getAllCount();
+
+    Long getCurrentCount();
+
+    Long getPastCount();
+
+    Long getFutureCount();
+
+    Long getWaitingCount();
+
+    Long getRejectedCount();
+
+    Long getApprovedCount();
+}
@@ -0,0 +1,19 @@
+package ru.practicum.shareit.booking.repository;
+
+import ru.practicum.shareit.booking.dto.BookingCursor;
+import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.model.State;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Keyset pagination over bookings ordered by {@code start desc, id desc}. A page is read with
+ * {@code (start, id) < cursor} and a row limit, so it costs the same at any depth and needs no count query.
+ */
+public interface BookingKeysetRepository {
+
+    List<Booking> findPageOfBooker(Long bookerId, State state, LocalDateTime now, BookingCursor after, int limit);
+
+    List<Booking> findPageOfOwner(Long ownerId, State state, LocalDateTime now, BookingCursor after, int limit);
+}
@@ -1,32 +1,109 @@
 package ru.practicum.shareit.booking.repository;
 
-import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import ru.practicum.shareit.booking.dto.ItemBookingView;
+import ru.practicum.shareit.booking.dto.OwnerItemBookingView;
 import ru.practicum.shareit.booking.model.Booking;
 import ru.practicum.shareit.booking.model.Status;
 
+import javax.persistence.LockModeType;
 import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
 
-public interface BookingRepository extends JpaRepository<Booking, Long> {
+public interface BookingRepository extends JpaRepository<Booking, Long>, BookingKeysetRepository {
 
-    Page<Booking> findByBookerId(Long bookerId, Pageable pageable);
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("select b from Booking b where b.id = :bookingId")
+    Optional<Booking> findByIdForUpdate(@Param("bookingId") Long bookingId);
 
-    Page<Booking> findByBookerIdAndStartIsBeforeAndEndIsAfter(Long bookerId, LocalDateTime start, LocalDateTime end, Pageable pageable);
+    @EntityGraph(attributePaths = {"item", "booker"})
+    Slice<Booking> findByBookerId(Long bookerId, Pageable pageable);
 
-    Page<Booking> findByBookerIdAndEndIsBefore(Long bookerId, LocalDateTime end, Pageable pageable);
+    @EntityGraph(attributePaths = {"item", "booker"})
+    Slice<Booking> findByBookerIdAndStartIsBeforeAndEndIsAfter(Long bookerId, LocalDateTime start, LocalDateTime end, Pageable pageable);
 
-    Page<Booking> findByBookerIdAndStartIsAfter(Long bookerId, LocalDateTime start, Pageable pageable);
+    @EntityGraph(attributePaths = {"item", "booker"})
+    Slice<Booking> findByBookerIdAndEndIsBefore(Long bookerId, LocalDateTime end, Pageable pageable);
 
-    Page<Booking> findByBookerIdAndStatus(Long bookerId, Status status, Pageable pageable);
+    @EntityGraph(attributePaths = {"item", "booker"})
+    Slice<Booking> findByBookerIdAndStartIsAfter(Long bookerId, LocalDateTime start, Pageable pageable);
 
-    Page<Booking> findByItem_Owner_Id(Long ownerId, Pageable pageable);
+    @EntityGraph(attributePaths = {"item", "booker"})
+    Slice<Booking> findByBookerIdAndStatus(Long bookerId, Status status, Pageable pageable);
 
-    Page<Booking> findByItem_Owner_IdAndStartIsBeforeAndEndIsAfter(Long ownerId, LocalDateTime start, LocalDateTime end, Pageable pageable);
+    @EntityGraph(attributePaths = {"item", "booker"})
+    Slice<Booking> findByItem_Owner_Id(Long ownerId, Pageable pageable);
 
-    Page<Booking> findByItem_Owner_IdAndEndIsBefore(Long bookerId, LocalDateTime end, Pageable pageable);
+    @EntityGraph(attributePaths = {"item", "booker"})
+    Slice<Booking> findByItem_Owner_IdAndStartIsBeforeAndEndIsAfter(Long ownerId, LocalDateTime start, LocalDateTime end, Pageable pageable);
 
-    Page<Booking> findByItem_Owner_IdAndStartIsAfter(Long bookerId, LocalDateTime start, Pageable pageable);
+    @EntityGraph(attributePaths = {"item", "booker"})
+    Slice<Booking> findByItem_Owner_IdAndEndIsBefore(Long bookerId, LocalDateTime end, Pageable pageable);
 
-    Page<Booking> findByItem_Owner_IdAndStatus(Long bookerId, Status status, Pageable pageable);
-}
\ No newline at end of file
+    @EntityGraph(attributePaths = {"item", "booker"})
+    Slice<Booking> findByItem_Owner_IdAndStartIsAfter(Long bookerId, LocalDateTime start, Pageable pageable);
+
+    @EntityGraph(attributePaths = {"item", "booker"})
+    Slice<Booking> findByItem_Owner_IdAndStatus(Long bookerId, Status status, Pageable pageable);
+
+    boolean existsByItem_IdAndStatusInAndStartIsBeforeAndEndIsAfter(Long itemId, Collection<Status> statuses,
+                                                                     LocalDateTime end, LocalDateTime start);
+
+    boolean existsByItem_IdAndIdNotAndStatusInAndStartIsBeforeAndEndIsAfter(Long itemId, Long bookingId,
+                                                                            Collection<Status> statuses,
+                                                                            LocalDateTime end, LocalDateTime start);
+
+    List<Booking> findByItem_IdInAndStatusInAndStartIsBeforeAndEndIsAfter(Collection<Long> itemIds,
+                                                                       Collection<Status> statuses,
+                                                                       LocalDateTime end, LocalDateTime start);
+
+    List<Booking> findByItem_IdAndStatusInAndStartIsBeforeAndEndIsAfterOrderByStartAsc(Long itemId,
+                                                                                       Collection<Status> statuses,
+                                                                                       LocalDateTime end,
+                                                                                       LocalDateTime start);
+
+    @Query(value = "select t.item_id as \"itemId\", t.id as \"id\", t.booker_id as \"bookerId\" from (" +
+            "select b.item_id, b.id, b.booker_id, " +
+            "row_number() over (partition by b.item_id order by b.start_date desc) as rn " +
+            "from bookings b " +
+            "where b.item_id in (:itemIds) and b.status = 'APPROVED' and b.start_date < :now) t " +
+            "where t.rn = 1", nativeQuery = true)
+    List<ItemBookingView> findLastBookingsOfItems(@Param("itemIds") Collection<Long> itemIds,
+                                                  @Param("now") LocalDateTime now);
+
+    @Query(value = "select t.item_id as \"itemId\", t.id as \"id\", t.booker_id as \"bookerId\" from (" +
+            "select b.item_id, b.id, b.booker_id, " +
+            "row_number() over (partition by b.item_id order by b.start_date asc) as rn " +
+            "from bookings b " +
+            "where b.item_id in (:itemIds) and b.status in ('WAITING', 'APPROVED') and b.start_date > :now) t " +
+            "where t.rn = 1", nativeQuery = true)
+    List<ItemBookingView> findNextBookingsOfItems(@Param("itemIds") Collection<Long> itemIds,
+                                                  @Param("now") LocalDateTime now);
+
+    /**
+     * Counts the bookings of each item of the owner in every state in one pass; states follow
+     * {@code getBookingsOfOwner}, so the time-based ones ignore the status.
+     */
+    @Query(value = "select i.id as \"itemId\", i.name as \"itemName\", " +
+            "count(b.id) as \"allCount\", " +
+            "sum(case when b.start_date < :now and b.end_date > :now then 1 else 0 end) as \"currentCount\", " +
+            "sum(case when b.end_date < :now then 1 else 0 end) as \"pastCount\", " +
+            "sum(case when b.start_date > :now then 1 else 0 end) as \"futureCount\", " +
+            "sum(case when b.status = 'WAITING' then 1 else 0 end) as \"waitingCount\", " +
+            "sum(case when b.status = 'REJECTED' then 1 else 0 end) as \"rejectedCount\", " +
+            "sum(case when b.status = 'APPROVED' then 1 else 0 end) as \"approvedCount\" " +
+            "from items i left join bookings b on b.item_id = i.id " +
+            "where i.owner_id = :ownerId " +
+            "group by i.id, i.name " +
+            "order by i.id", nativeQuery = true)
+    List<OwnerItemBookingView> summarizeBookingsOfOwner(@Param("ownerId") Long ownerId,
+                                                        @Param("now") LocalDateTime now);
+}
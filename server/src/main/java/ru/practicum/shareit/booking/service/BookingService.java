@@ -1,14 +1,21 @@
 package ru.practicum.shareit.booking.service;
 
+import ru.practicum.shareit.booking.dto.BookingCursorPageDto;
 import ru.practicum.shareit.booking.dto.BookingRequestDto;
 import ru.practicum.shareit.booking.dto.BookingResponseDto;
+import ru.practicum.shareit.booking.dto.BulkBookingResultDto;
+import ru.practicum.shareit.booking.dto.FreeSlotDto;
+import ru.practicum.shareit.booking.dto.OwnerBookingSummaryDto;
 import ru.practicum.shareit.booking.model.State;
 
+import java.time.LocalDateTime;
 import java.util.List;
 
 public interface BookingService {
     BookingResponseDto create(BookingRequestDto bookingRequestDto, Long bookerId);
 
+    List<BulkBookingResultDto> createAll(List<BookingRequestDto> bookingRequestDtos, Long bookerId);
+
     BookingResponseDto update(Long bookingId, Long userId, Boolean approved);
 
     BookingResponseDto getBookingById(Long bookingId, Long userId);
@@ -16,4 +23,12 @@ public interface BookingService {
     List<BookingResponseDto> getBookingsOfUser(Long userId, State state, Integer from, Integer size);
 
     List<BookingResponseDto> getBookingsOfOwner(Long userId, State state, int from, int size);
-}
\ No newline at end of file
+
+    BookingCursorPageDto getBookingsOfUserAfter(Long userId, State state, String cursor, int size);
+
+    BookingCursorPageDto getBookingsOfOwnerAfter(Long userId, State state, String cursor, int size);
+
+    OwnerBookingSummaryDto getOwnerSummary(Long ownerId);
+
+    List<FreeSlotDto> getFreeSlots(Long itemId, LocalDateTime start, LocalDateTime end);
+}
@@ -1,71 +1,183 @@
 package ru.practicum.shareit.booking.service;
 
+import io.micrometer.core.annotation.Timed;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 
-import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import ru.practicum.shareit.booking.dto.BookingCursor;
+import ru.practicum.shareit.booking.dto.BookingCursorPageDto;
 import ru.practicum.shareit.booking.dto.BookingRequestDto;
 import ru.practicum.shareit.booking.dto.BookingResponseDto;
+import ru.practicum.shareit.booking.dto.BulkBookingResultDto;
+import ru.practicum.shareit.booking.dto.FreeSlotDto;
+import ru.practicum.shareit.booking.dto.ItemBookingSummaryDto;
+import ru.practicum.shareit.booking.dto.OwnerBookingSummaryDto;
+import ru.practicum.shareit.booking.dto.OwnerItemBookingView;
 import ru.practicum.shareit.booking.mapper.BookingMapper;
 import ru.practicum.shareit.booking.model.Booking;
 import ru.practicum.shareit.booking.model.State;
+import ru.practicum.shareit.booking.model.Status;
 import ru.practicum.shareit.booking.repository.BookingRepository;
 import ru.practicum.shareit.exception.NotFoundException;
 import ru.practicum.shareit.exception.ValidationException;
 import ru.practicum.shareit.item.ItemRepository;
+import ru.practicum.shareit.item.ItemStatsReconciler;
+import ru.practicum.shareit.item.ItemStatsRepository;
 import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.pagination.KeysetPageSize;
 import ru.practicum.shareit.user.User;
+import ru.practicum.shareit.user.UserExistenceCache;
 import ru.practicum.shareit.user.UserRepository;
 
 import java.time.LocalDateTime;
 import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.EnumMap;
+import java.util.EnumSet;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.TreeSet;
 import java.util.stream.Collectors;
 
 import static ru.practicum.shareit.booking.model.Status.*;
 
 @Slf4j
 @Service
+@Timed(value = "shareit.service", histogram = true)
 @RequiredArgsConstructor
+@Transactional
 public class BookingServiceImpl implements BookingService {
 
     private final BookingRepository bookingRepository;
     private final UserRepository userRepository;
+    // Only the read-only queries trust the cache: for a user deleted on another instance they return an empty
+    // page instead of 404 until the entry expires. The write paths look the user up in the database.
+    private final UserExistenceCache userExistenceCache;
     private final ItemRepository itemRepository;
     private final BookingMapper bookingMapper;
+    private final ItemStatsRepository itemStatsRepository;
+    private final ItemStatsReconciler itemStatsReconciler;
+
+    private static final Set<Status> ACTIVE_STATUSES = EnumSet.of(WAITING, APPROVED);
 
     @Override
     public BookingResponseDto create(BookingRequestDto bookingRequestDto, Long bookerId) {
         User booker = userRepository.findById(bookerId)
                 .orElseThrow(() -> new NotFoundException("User not found"));
-        Item item = itemRepository.findById(bookingRequestDto.getItemId())
+        // Row lock on the item serializes concurrent bookings of the same item across server instances
+        Item item = itemRepository.findByIdForUpdate(bookingRequestDto.getItemId())
                 .orElseThrow(() -> new NotFoundException("Item not found"));
         Booking booking = bookingMapper.mapToBooking(bookingRequestDto, item, booker);
-        if (booking.getItem() == null || booking.getItem().getAvailable() == null || !booking.getItem().getAvailable()) {
-            throw new ValidationException("Item is not available");
+        checkBookable(booking);
+
+        if (bookingRepository.existsByItem_IdAndStatusInAndStartIsBeforeAndEndIsAfter(item.getId(),
+                ACTIVE_STATUSES, booking.getEnd(), booking.getStart())) {
+            throw new ValidationException("Item is already booked for the requested period");
         }
+        Booking saved = bookingRepository.save(booking);
+        addBookings(item.getId(), 1, saved.getStart());
+        return bookingMapper.mapToBookingResponseDto(saved);
+    }
 
-        if (booking.getBooker() == null || booking.getBooker().getId().equals(booking.getItem().getOwner().getId())) {
-            throw new NotFoundException("Owner can't book this item");
+    @Override
+    public List<BulkBookingResultDto> createAll(List<BookingRequestDto> bookingRequestDtos, Long bookerId) {
+        User booker = userRepository.findById(bookerId)
+                .orElseThrow(() -> new NotFoundException("User not found"));
+        LocalDateTime now = LocalDateTime.now().truncatedTo(ChronoUnit.SECONDS);
+        Set<Long> itemIds = new TreeSet<>();
+        LocalDateTime windowStart = LocalDateTime.MAX;
+        LocalDateTime windowEnd = LocalDateTime.MIN;
+        for (BookingRequestDto dto : bookingRequestDtos) {
+            if (dto.getItemId() != null && dto.getStart() != null && dto.getEnd() != null) {
+                itemIds.add(dto.getItemId());
+                windowStart = dto.getStart().isBefore(windowStart) ? dto.getStart() : windowStart;
+                windowEnd = dto.getEnd().isAfter(windowEnd) ? dto.getEnd() : windowEnd;
+            }
         }
-        return bookingMapper.mapToBookingResponseDto(bookingRepository.save(booking));
+        Map<Long, Item> items = new HashMap<>();
+        List<Booking> taken = new ArrayList<>();
+        if (!itemIds.isEmpty()) {
+            // Same row locks as create, taken in id order so that concurrent bulk requests cannot deadlock
+            itemRepository.findAllByIdInForUpdate(itemIds).forEach(item -> items.put(item.getId(), item));
+            taken.addAll(bookingRepository.findByItem_IdInAndStatusInAndStartIsBeforeAndEndIsAfter(
+                    itemIds, ACTIVE_STATUSES, windowEnd, windowStart));
+        }
+
+        Booking[] created = new Booking[bookingRequestDtos.size()];
+        String[] errors = new String[created.length];
+        for (int i = 0; i < created.length; i++) {
+            BookingRequestDto dto = bookingRequestDtos.get(i);
+            try {
+                checkPeriod(dto, now);
+                Item item = items.get(dto.getItemId());
+                if (item == null) {
+                    throw new NotFoundException("Item not found");
+                }
+                Booking booking = bookingMapper.mapToBooking(dto, item, booker);
+                checkBookable(booking);
+                if (taken.stream().anyMatch(other -> overlaps(other, booking))) {
+                    throw new ValidationException("Item is already booked for the requested period");
+                }
+                taken.add(booking);
+                created[i] = booking;
+            } catch (ValidationException | NotFoundException e) {
+                errors[i] = e.getMessage();
+            }
+        }
+        List<Booking> toSave = Arrays.stream(created)
+                .filter(Objects::nonNull)
+                .collect(Collectors.toList());
+        bookingRepository.saveAll(toSave);
+        // One counter update per booked item rather than per booking; ids are sorted like the row locks above
+        Map<Long, List<Booking>> itemIdToBookings = toSave.stream()
+                .collect(Collectors.groupingBy(booking -> booking.getItem().getId(), TreeMap::new,
+                        Collectors.toList()));
+        itemIdToBookings.forEach((itemId, booked) -> addBookings(itemId, booked.size(),
+                booked.stream().map(Booking::getStart).max(LocalDateTime::compareTo).orElseThrow()));
+
+        List<BulkBookingResultDto> results = new ArrayList<>(created.length);
+        for (int i = 0; i < created.length; i++) {
+            results.add(new BulkBookingResultDto(i,
+                    created[i] == null ? null : bookingMapper.mapToBookingResponseDto(created[i]), errors[i]));
+        }
+        return results;
     }
 
     @Override
     public BookingResponseDto update(Long bookingId, Long ownerId, Boolean approved) {
-        Booking booking = bookingRepository.findById(bookingId)
+        // Row lock on the booking: concurrent approve/reject calls see each other's status, so the approved
+        // counter below is applied once per actual transition
+        Booking booking = bookingRepository.findByIdForUpdate(bookingId)
                 .orElseThrow(() -> new NotFoundException("Booking with ID=" + bookingId + " not found"));
         if (ownerId == null || !ownerId.equals(booking.getItem().getOwner().getId())) {
             throw new NotFoundException("Status of booking cannot be updated because " +
                     "user is not the owner of item.");
         }
+        Status previous = booking.getStatus();
         if (approved) {
             if (booking.getStatus() == APPROVED) {
                 throw new ValidationException("Cannot approve already approved Booking");
             }
+            if (!ACTIVE_STATUSES.contains(previous)) {
+                // The period was free for others while the booking was inactive; re-check it under the item lock
+                Long itemId = booking.getItem().getId();
+                itemRepository.findByIdForUpdate(itemId)
+                        .orElseThrow(() -> new NotFoundException("Item not found"));
+                if (bookingRepository.existsByItem_IdAndIdNotAndStatusInAndStartIsBeforeAndEndIsAfter(itemId,
+                        booking.getId(), ACTIVE_STATUSES, booking.getEnd(), booking.getStart())) {
+                    throw new ValidationException("Item is already booked for the requested period");
+                }
+            }
             booking.setStatus(APPROVED);
         } else {
             if (booking.getStatus() == REJECTED) {
@@ -73,6 +185,11 @@ public class BookingServiceImpl implements BookingService {
             }
             booking.setStatus(REJECTED);
         }
+        if (previous == APPROVED) {
+            addApprovedBookings(booking.getItem().getId(), -1);
+        } else if (booking.getStatus() == APPROVED) {
+            addApprovedBookings(booking.getItem().getId(), 1);
+        }
         return bookingMapper.mapToBookingResponseDto(bookingRepository.save(booking));
     }
 
@@ -91,10 +208,9 @@ public class BookingServiceImpl implements BookingService {
 
     @Override
     public List<BookingResponseDto> getBookingsOfUser(Long userId, State state, Integer from, Integer size) {
-        userRepository.findById(userId)
-                .orElseThrow(() -> new NotFoundException("User not found"));
+        userExistenceCache.requireExists(userId);
         PageRequest pageRequest = PageRequest.of(from / size, size, Sort.by(Sort.Direction.DESC, "start"));
-        Page<Booking> bookings = null;
+        Slice<Booking> bookings = null;
         LocalDateTime now = LocalDateTime.now().truncatedTo(ChronoUnit.SECONDS);
         switch (state) {
             case ALL:
@@ -123,10 +239,9 @@ public class BookingServiceImpl implements BookingService {
 
     @Override
     public List<BookingResponseDto> getBookingsOfOwner(Long userId, State state, int from, int size) {
-        userRepository.findById(userId)
-                .orElseThrow(() -> new NotFoundException("User not found"));
+        userExistenceCache.requireExists(userId);
         PageRequest pageRequest = PageRequest.of(from / size, size, Sort.by(Sort.Direction.DESC, "start"));
-        Page<Booking> bookings = null;
+        Slice<Booking> bookings = null;
         LocalDateTime now = LocalDateTime.now().truncatedTo(ChronoUnit.SECONDS);
         switch (state) {
             case ALL:
@@ -154,4 +269,120 @@ public class BookingServiceImpl implements BookingService {
                 .map(bookingMapper::mapToBookingResponseDto)
                 .collect(Collectors.toList());
     }
-}
\ No newline at end of file
+
+    @Override
+    public BookingCursorPageDto getBookingsOfUserAfter(Long userId, State state, String cursor, int size) {
+        int limit = KeysetPageSize.withLookahead(size);
+        userExistenceCache.requireExists(userId);
+        LocalDateTime now = LocalDateTime.now().truncatedTo(ChronoUnit.SECONDS);
+        return toCursorPage(bookingRepository.findPageOfBooker(userId, state, now, BookingCursor.decode(cursor),
+                limit), size);
+    }
+
+    @Override
+    public BookingCursorPageDto getBookingsOfOwnerAfter(Long userId, State state, String cursor, int size) {
+        int limit = KeysetPageSize.withLookahead(size);
+        userExistenceCache.requireExists(userId);
+        LocalDateTime now = LocalDateTime.now().truncatedTo(ChronoUnit.SECONDS);
+        return toCursorPage(bookingRepository.findPageOfOwner(userId, state, now, BookingCursor.decode(cursor),
+                limit), size);
+    }
+
+    @Override
+    public OwnerBookingSummaryDto getOwnerSummary(Long ownerId) {
+        userExistenceCache.requireExists(ownerId);
+        LocalDateTime now = LocalDateTime.now().truncatedTo(ChronoUnit.SECONDS);
+        Map<State, Long> totals = new EnumMap<>(State.class);
+        for (State state : State.values()) {
+            totals.put(state, 0L);
+        }
+        List<ItemBookingSummaryDto> items = new ArrayList<>();
+        for (OwnerItemBookingView view : bookingRepository.summarizeBookingsOfOwner(ownerId, now)) {
+            Map<State, Long> counts = new EnumMap<>(State.class);
+            counts.put(State.ALL, view.getAllCount());
+            counts.put(State.CURRENT, view.getCurrentCount());
+            counts.put(State.PAST, view.getPastCount());
+            counts.put(State.FUTURE, view.getFutureCount());
+            counts.put(State.WAITING, view.getWaitingCount());
+            counts.put(State.REJECTED, view.getRejectedCount());
+            counts.forEach((state, count) -> totals.merge(state, count, Long::sum));
+            items.add(new ItemBookingSummaryDto(view.getItemId(), view.getItemName(), counts,
+                    view.getApprovedCount()));
+        }
+        return new OwnerBookingSummaryDto(totals, items);
+    }
+
+    @Override
+    public List<FreeSlotDto> getFreeSlots(Long itemId, LocalDateTime start, LocalDateTime end) {
+        if (!itemRepository.existsById(itemId)) {
+            throw new NotFoundException("Item not found");
+        }
+        if (!end.isAfter(start)) {
+            throw new ValidationException("End of the period must be after its start");
+        }
+        List<FreeSlotDto> slots = new ArrayList<>();
+        LocalDateTime freeFrom = start;
+        for (Booking booking : bookingRepository.findByItem_IdAndStatusInAndStartIsBeforeAndEndIsAfterOrderByStartAsc(
+                itemId, ACTIVE_STATUSES, end, start)) {
+            if (booking.getStart().isAfter(freeFrom)) {
+                slots.add(new FreeSlotDto(freeFrom, booking.getStart()));
+            }
+            if (booking.getEnd().isAfter(freeFrom)) {
+                freeFrom = booking.getEnd();
+            }
+        }
+        if (end.isAfter(freeFrom)) {
+            slots.add(new FreeSlotDto(freeFrom, end));
+        }
+        return slots;
+    }
+
+    private void addBookings(Long itemId, long count, LocalDateTime start) {
+        if (itemStatsRepository.addBookings(itemId, count, start) == 0) {
+            // No stats row, e.g. the item was inserted outside JPA: rebuild it from the bookings instead
+            itemStatsReconciler.reconcileItem(itemId);
+        }
+    }
+
+    private void addApprovedBookings(Long itemId, long delta) {
+        if (itemStatsRepository.addApprovedBookings(itemId, delta) == 0) {
+            itemStatsReconciler.reconcileItem(itemId);
+        }
+    }
+
+    private BookingCursorPageDto toCursorPage(List<Booking> bookings, int size) {
+        boolean hasNext = bookings.size() > size;
+        List<Booking> page = hasNext ? bookings.subList(0, size) : bookings;
+        String nextCursor = hasNext ? BookingCursor.of(page.get(size - 1)).encode() : null;
+        return new BookingCursorPageDto(page.stream()
+                .map(bookingMapper::mapToBookingResponseDto)
+                .collect(Collectors.toList()), nextCursor);
+    }
+
+    private static void checkPeriod(BookingRequestDto dto, LocalDateTime now) {
+        if (dto.getItemId() == null || dto.getStart() == null || dto.getEnd() == null) {
+            throw new ValidationException("Item, start and end of the booking are required");
+        }
+        if (dto.getStart().isBefore(now)) {
+            throw new ValidationException("Start of the booking must not be in the past");
+        }
+        if (!dto.getEnd().isAfter(dto.getStart())) {
+            throw new ValidationException("End of the booking must be after its start");
+        }
+    }
+
+    private static void checkBookable(Booking booking) {
+        if (booking.getItem() == null || booking.getItem().getAvailable() == null || !booking.getItem().getAvailable()) {
+            throw new ValidationException("Item is not available");
+        }
+        if (booking.getBooker() == null || booking.getBooker().getId().equals(booking.getItem().getOwner().getId())) {
+            throw new NotFoundException("Owner can't book this item");
+        }
+    }
+
+    private static boolean overlaps(Booking booking, Booking other) {
+        return booking.getItem().getId().equals(other.getItem().getId())
+                && booking.getStart().isBefore(other.getEnd())
+                && booking.getEnd().isAfter(other.getStart());
+    }
+}
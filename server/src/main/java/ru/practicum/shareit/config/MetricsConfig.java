@@ -0,0 +1,34 @@
+package ru.practicum.shareit.config;
+
+import io.micrometer.core.aop.TimedAspect;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.hibernate.cfg.AvailableSettings;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import ru.practicum.shareit.metrics.JdbcStatementCounter;
+import ru.practicum.shareit.metrics.StatementCountingFilter;
+
+/**
+ * Service timers ({@code @Timed} on the service implementations) and per-request JDBC statement counts.
+ */
+@Configuration
+public class MetricsConfig {
+
+    @Bean
+    public TimedAspect timedAspect(MeterRegistry meterRegistry) {
+        return new TimedAspect(meterRegistry);
+    }
+
+    @Bean
+    public HibernatePropertiesCustomizer statementCounterCustomizer() {
+        return properties -> properties.putIfAbsent(AvailableSettings.STATEMENT_INSPECTOR, new JdbcStatementCounter());
+    }
+
+    @Bean
+    public StatementCountingFilter statementCountingFilter(MeterRegistry meterRegistry,
+                                                           @Value("${shareit.jdbc.statement-budget}") long budget) {
+        return new StatementCountingFilter(meterRegistry, budget);
+    }
+}
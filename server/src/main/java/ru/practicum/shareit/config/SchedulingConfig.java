@@ -0,0 +1,12 @@
+package ru.practicum.shareit.config;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+/**
+ * Background jobs ({@code @Scheduled}); each job's cron is a property and {@code -} switches it off.
+ */
+@Configuration
+@EnableScheduling
+public class SchedulingConfig {
+}
@@ -5,6 +5,7 @@ import org.springframework.stereotype.Component;
 
 import ru.practicum.shareit.item.dto.CommentRequest;
 import ru.practicum.shareit.item.dto.CommentResponse;
+import ru.practicum.shareit.item.dto.ItemCommentView;
 import ru.practicum.shareit.item.model.Comment;
 import ru.practicum.shareit.item.model.Item;
 import ru.practicum.shareit.user.User;
@@ -24,6 +25,15 @@ public class CommentMapper {
                 .build();
     }
 
+    public CommentResponse mapToDto(ItemCommentView view) {
+        return CommentResponse.builder()
+                .id(view.getId())
+                .text(view.getText())
+                .authorName(view.getAuthorName())
+                .created(view.getCreated())
+                .build();
+    }
+
     public Comment mapToComment(CommentRequest dto, User user, Item item) {
         return Comment.builder()
                 .text(dto.getText())
@@ -1,17 +1,42 @@
 package ru.practicum.shareit.item;
 
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
+import ru.practicum.shareit.item.dto.CommentResponse;
+import ru.practicum.shareit.item.dto.ItemCommentView;
 import ru.practicum.shareit.item.model.Comment;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
-import java.util.Set;
 
 public interface CommentRepository extends JpaRepository<Comment, Long> {
 
-    @Query("select c from Comment c join fetch c.item i where c.item.id in :itemIds")
-    List<Comment> findAllByItem_IdIn(@Param("itemIds") Set<Long> itemIds);
+    @Query("select new ru.practicum.shareit.item.dto.CommentResponse(c.id, c.text, a.name, c.created) " +
+            "from Comment c join c.author a " +
+            "where c.item.id = :itemId " +
+            "order by c.created desc, c.id desc")
+    List<CommentResponse> findLatestOfItem(@Param("itemId") Long itemId, Pageable pageable);
 
-    List<Comment> findAllByItem_Id(Long itemId);
-}
\ No newline at end of file
+    @Query("select new ru.practicum.shareit.item.dto.CommentResponse(c.id, c.text, a.name, c.created) " +
+            "from Comment c join c.author a " +
+            "where c.item.id = :itemId " +
+            "and (c.created < :created or (c.created = :created and c.id < :id)) " +
+            "order by c.created desc, c.id desc")
+    List<CommentResponse> findOfItemBefore(@Param("itemId") Long itemId,
+                                           @Param("created") LocalDateTime created,
+                                           @Param("id") Long id,
+                                           Pageable pageable);
+
+    @Query(value = "select t.item_id as \"itemId\", t.id as \"id\", t.text as \"text\", " +
+            "t.author_name as \"authorName\", t.created as \"created\" from (" +
+            "select c.item_id, c.id, c.text, u.name as author_name, c.created, " +
+            "row_number() over (partition by c.item_id order by c.created desc, c.id desc) as rn " +
+            "from comments c join users u on u.id = c.author_id " +
+            "where c.item_id in (:itemIds)) t " +
+            "where t.rn <= :limit " +
+            "order by t.item_id, t.rn", nativeQuery = true)
+    List<ItemCommentView> findLatestOfItems(@Param("itemIds") Collection<Long> itemIds, @Param("limit") int limit);
+}
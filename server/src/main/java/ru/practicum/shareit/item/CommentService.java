@@ -1,5 +1,6 @@
 package ru.practicum.shareit.item;
 
+import ru.practicum.shareit.item.dto.CommentCursorPageDto;
 import ru.practicum.shareit.item.dto.CommentRequest;
 import ru.practicum.shareit.item.dto.CommentResponse;
 
@@ -11,7 +12,9 @@ public interface CommentService {
 
     CommentResponse saveComment(CommentRequest commentRequest, Long userId, Long itemId);
 
-    List<CommentResponse> getCommentsOfItem(Long itemId);
+    List<CommentResponse> getLatestCommentsOfItem(Long itemId, int limit);
 
-    Map<Long, List<CommentResponse>> getItemIdToComments(Set<Long> itemIds);
-}
\ No newline at end of file
+    Map<Long, List<CommentResponse>> getItemIdToLatestComments(Set<Long> itemIds, int limit);
+
+    CommentCursorPageDto getCommentsOfItemAfter(Long itemId, String cursor, int size);
+}
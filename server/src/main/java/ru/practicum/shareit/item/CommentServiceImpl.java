@@ -1,19 +1,26 @@
 package ru.practicum.shareit.item;
 
+import io.micrometer.core.annotation.Timed;
 import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import ru.practicum.shareit.exception.NotFoundException;
 import ru.practicum.shareit.exception.ValidationException;
+import ru.practicum.shareit.item.dto.CommentCursor;
+import ru.practicum.shareit.item.dto.CommentCursorPageDto;
 import ru.practicum.shareit.item.dto.CommentRequest;
 import ru.practicum.shareit.item.dto.CommentResponse;
+import ru.practicum.shareit.item.dto.ItemCommentView;
 
 import ru.practicum.shareit.item.model.Comment;
 import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.pagination.KeysetPageSize;
 import ru.practicum.shareit.user.User;
 import ru.practicum.shareit.user.UserRepository;
 
 import java.time.LocalDateTime;
+import java.util.Collections;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
@@ -22,6 +29,7 @@ import java.util.stream.Collectors;
 import static ru.practicum.shareit.booking.model.Status.APPROVED;
 
 @Service
+@Timed(value = "shareit.service", histogram = true)
 @RequiredArgsConstructor
 @Transactional
 public class CommentServiceImpl implements CommentService {
@@ -30,6 +38,9 @@ public class CommentServiceImpl implements CommentService {
     private final UserRepository userRepository;
     private final ItemRepository itemRepository;
     private final CommentMapper mapper;
+    private final ItemStatsRepository itemStatsRepository;
+    private final ItemDetailsCache itemDetailsCache;
+    private final ItemStatsReconciler itemStatsReconciler;
 
     @Override
     public CommentResponse saveComment(CommentRequest commentRequest, Long userId, Long itemId) {
@@ -46,22 +57,43 @@ public class CommentServiceImpl implements CommentService {
                     "because the user never booked the item.");
         }
         Comment saved = commentRepository.save(mapper.mapToComment(commentRequest, user, item));
+        if (itemStatsRepository.incrementCommentCount(itemId) == 0) {
+            // No stats row, e.g. the item was inserted outside JPA: rebuild it from the comments instead
+            itemStatsReconciler.reconcileItem(itemId);
+        }
+        itemDetailsCache.evict(itemId);
         return mapper.mapToDto(saved);
     }
 
     @Override
-    public List<CommentResponse> getCommentsOfItem(Long itemId) {
-        return commentRepository.findAllByItem_Id(itemId)
-                .stream()
-                .map(mapper::mapToDto)
-                .collect(Collectors.toList());
+    public List<CommentResponse> getLatestCommentsOfItem(Long itemId, int limit) {
+        return commentRepository.findLatestOfItem(itemId, PageRequest.of(0, limit));
     }
 
     @Override
-    public Map<Long, List<CommentResponse>> getItemIdToComments(Set<Long> itemIds) {
-        return commentRepository.findAllByItem_IdIn(itemIds)
+    public Map<Long, List<CommentResponse>> getItemIdToLatestComments(Set<Long> itemIds, int limit) {
+        if (itemIds.isEmpty()) {
+            return Collections.emptyMap();
+        }
+        return commentRepository.findLatestOfItems(itemIds, limit)
                 .stream()
-                .collect(Collectors.groupingBy(c -> c.getItem().getId(),
+                .collect(Collectors.groupingBy(ItemCommentView::getItemId,
                         Collectors.mapping(mapper::mapToDto, Collectors.toList())));
     }
+
+    @Override
+    public CommentCursorPageDto getCommentsOfItemAfter(Long itemId, String cursor, int size) {
+        if (!itemRepository.existsById(itemId)) {
+            throw new NotFoundException("Item not found");
+        }
+        CommentCursor after = CommentCursor.decode(cursor);
+        PageRequest limit = PageRequest.of(0, KeysetPageSize.withLookahead(size));
+        List<CommentResponse> comments = after == null
+                ? commentRepository.findLatestOfItem(itemId, limit)
+                : commentRepository.findOfItemBefore(itemId, after.getCreated(), after.getId(), limit);
+        boolean hasNext = comments.size() > size;
+        List<CommentResponse> page = hasNext ? comments.subList(0, size) : comments;
+        String nextCursor = hasNext ? CommentCursor.of(page.get(size - 1)).encode() : null;
+        return new CommentCursorPageDto(page, nextCursor);
+    }
 }
\ No newline at end of file
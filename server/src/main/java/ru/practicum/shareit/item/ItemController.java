@@ -3,6 +3,7 @@ package ru.practicum.shareit.item;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.web.bind.annotation.*;
+import ru.practicum.shareit.item.dto.CommentCursorPageDto;
 import ru.practicum.shareit.item.dto.CommentRequest;
 import ru.practicum.shareit.item.dto.CommentResponse;
 import ru.practicum.shareit.item.dto.ItemDto;
@@ -68,6 +69,14 @@ public class ItemController {
         return commentService.saveComment(dto, userId, itemId);
     }
 
+    @GetMapping("/{itemId}/comments")
+    public CommentCursorPageDto getComments(@PathVariable("itemId") Long itemId,
+                                            @RequestParam(value = "cursor", required = false) String cursor,
+                                            @RequestParam(value = "size", required = false, defaultValue = "10") int size) {
+        log.info("Received GET request to get comments of item with ID={} after cursor={}", itemId, cursor);
+        return commentService.getCommentsOfItemAfter(itemId, cursor, size);
+    }
+
     @DeleteMapping("/{itemId}")
     public void deleteItem(@PathVariable("itemId") Long itemId,
                            @RequestHeader(USER_HEADER) Long userId) {
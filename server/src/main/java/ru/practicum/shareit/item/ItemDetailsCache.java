@@ -0,0 +1,90 @@
+package ru.practicum.shareit.item;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import ru.practicum.shareit.item.dto.ItemDto;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.function.Function;
+import java.util.function.Predicate;
+
+/**
+ * Bounded, expiring cache of the viewer-independent item details: the item itself and its comments.
+ * Evicted per item on item updates and new comments, and for the items a user owns or commented on when the
+ * user is renamed. Owner-only fields ({@code lastBooking}/{@code nextBooking}) depend on the clock and are never
+ * cached. Evictions reach this instance only; other instances see a change once their entry expires, so the TTL
+ * is the accepted staleness bound.
+ */
+@Component
+public class ItemDetailsCache implements MeterBinder {
+    private final Cache<Long, ItemDto> cache;
+
+    public ItemDetailsCache(@Value("${shareit.cache.item-details.max-size}") long maxSize,
+                            @Value("${shareit.cache.item-details.ttl}") Duration ttl) {
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(ttl)
+                .recordStats()
+                .build();
+    }
+
+    /**
+     * Returns a copy of the cached details, loading them on a miss; callers may set per-viewer fields on it.
+     */
+    public ItemDto get(Long itemId, Function<Long, ItemDto> loader) {
+        ItemDto cached = cache.get(itemId, loader);
+        return cached.toBuilder()
+                .comments(cached.getComments() == null ? null : new ArrayList<>(cached.getComments()))
+                .build();
+    }
+
+    /**
+     * Evicts the item now and, inside a transaction, again after commit, so a read racing the change
+     * cannot leave the old state cached.
+     */
+    public void evict(Long itemId) {
+        cache.invalidate(itemId);
+        afterCommit(() -> cache.invalidate(itemId));
+    }
+
+    /**
+     * Evicts the items owned by the user and those whose embedded comments are signed with the given author name,
+     * now and again after commit. Items of another user with the same name are evicted too, which is harmless.
+     */
+    public void evictOwnedOrCommentedBy(Long userId, String authorName) {
+        Predicate<ItemDto> affected = dto -> userId.equals(dto.getOwnerId())
+                || dto.getComments() != null
+                && dto.getComments().stream().anyMatch(comment -> authorName.equals(comment.getAuthorName()));
+        cache.asMap().values().removeIf(affected);
+        afterCommit(() -> cache.asMap().values().removeIf(affected));
+    }
+
+    public void clear() {
+        cache.invalidateAll();
+        afterCommit(cache::invalidateAll);
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        CaffeineCacheMetrics.monitor(registry, cache, "itemDetails");
+    }
+
+    private static void afterCommit(Runnable action) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    action.run();
+                }
+            });
+        }
+    }
+}
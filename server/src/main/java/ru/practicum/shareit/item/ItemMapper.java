@@ -3,11 +3,15 @@ package ru.practicum.shareit.item;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Component;
 
+import ru.practicum.shareit.item.dto.CommentResponse;
+import ru.practicum.shareit.item.dto.ItemDetailsView;
 import ru.practicum.shareit.item.dto.ItemDto;
 import ru.practicum.shareit.item.model.Item;
 import ru.practicum.shareit.request.ItemRequest;
 import ru.practicum.shareit.user.User;
 
+import java.util.List;
+
 @Component
 @RequiredArgsConstructor
 public class ItemMapper {
@@ -24,6 +28,19 @@ public class ItemMapper {
                 .build();
     }
 
+    public ItemDto mapDetailsToDto(ItemDetailsView item, List<CommentResponse> comments) {
+        return ItemDto.builder()
+                .id(item.getId())
+                .ownerId(item.getOwnerId())
+                .name(item.getName())
+                .description(item.getDescription())
+                .available(item.getAvailable())
+                .requestId(item.getRequestId())
+                .comments(comments)
+                .commentCount(item.getCommentCount() != null ? item.getCommentCount() : 0L)
+                .build();
+    }
+
     public Item mapToItem(ItemDto itemDto, User owner, ItemRequest request) {
         return Item.builder()
                 .id(itemDto.getId())
@@ -2,10 +2,14 @@ package ru.practicum.shareit.item;
 
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
+import ru.practicum.shareit.item.dto.ItemDetailsView;
 import ru.practicum.shareit.item.model.Item;
 
+import javax.persistence.LockModeType;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -14,18 +18,54 @@ public interface ItemRepository extends JpaRepository<Item, Long> {
     @Query("select distinct i from Item i left join fetch i.bookings b where i.id = :itemId")
     Optional<Item> findItemByIdWithBookingsFetched(@Param("itemId") Long itemId);
 
-    @Query("select distinct i from Item i join fetch i.owner u left join fetch i.bookings b where u.id = :ownerId")
-    List<Item> findAllByOwnerIdFetchBookings(@Param("ownerId") Long ownerId, Pageable pageable);
+    /**
+     * Reads the item columns and its denormalised comment count without hydrating entities.
+     */
+    @Query("select i.id as id, i.owner.id as ownerId, i.name as name, i.description as description, " +
+            "i.available as available, i.request.id as requestId, s.commentCount as commentCount " +
+            "from Item i left join ItemStats s on s.itemId = i.id " +
+            "where i.id = :itemId")
+    Optional<ItemDetailsView> findItemDetails(@Param("itemId") Long itemId);
+
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("select i from Item i where i.id = :itemId")
+    Optional<Item> findByIdForUpdate(@Param("itemId") Long itemId);
+
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("select i from Item i where i.id in :itemIds order by i.id")
+    List<Item> findAllByIdInForUpdate(@Param("itemIds") Collection<Long> itemIds);
+
+    List<Item> findAllByOwner_Id(Long ownerId, Pageable pageable);
 
     @Query("select i from Item i join fetch i.owner o " +
-            "where (upper(i.name) like upper(concat('%', ?1, '%')) " +
-            "or upper(i.description) like upper(concat('%', ?1, '%'))) " +
-            "and i.available = true")
-    List<Item> searchAllItemFetchOwnerByQuery(String query, Pageable pageable);
+            "where (upper(i.name) like upper(concat('%', :query, '%')) " +
+            "or upper(i.description) like upper(concat('%', :query, '%'))) " +
+            "and i.available = true " +
+            "order by case when upper(i.name) like upper(concat('%', :query, '%')) then 0 else 1 end, i.name")
+    List<Item> searchAvailableItemsRankedByNameMatch(@Param("query") String query, Pageable pageable);
+
+    /**
+     * Ranks available items by trigram similarity and returns only their IDs, so the page can be loaded together
+     * with the owners through {@link #findAllByIdInFetchOwner}.
+     */
+    @Query(value = "select i.id from items i " +
+            "where (lower(i.name) like lower(concat('%', :query, '%')) " +
+            "or lower(i.description) like lower(concat('%', :query, '%'))) " +
+            "and i.is_available = true " +
+            "order by greatest(2 * similarity(lower(i.name), lower(:query)), " +
+            "similarity(lower(i.description), lower(:query))) desc, i.name",
+            nativeQuery = true)
+    List<Number> findAvailableItemIdsByTrigramSimilarity(@Param("query") String query, Pageable pageable);
+
+    @Query("select i from Item i join fetch i.owner o where i.id in :itemIds")
+    List<Item> findAllByIdInFetchOwner(@Param("itemIds") Collection<Long> itemIds);
 
     void deleteAllByOwner_Id(Long ownerId);
 
     void deleteItemByIdAndOwner_Id(Long itemId, Long ownerId);
 
     List<Item> findAllByRequestId(Long requestId);
+
+    @Query("select i from Item i where i.request.id in :requestIds")
+    List<Item> findAllByRequestIdIn(@Param("requestIds") Collection<Long> requestIds);
 }
\ No newline at end of file
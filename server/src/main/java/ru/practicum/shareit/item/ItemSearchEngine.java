@@ -0,0 +1,14 @@
+package ru.practicum.shareit.item;
+
+import org.springframework.data.domain.Pageable;
+import ru.practicum.shareit.item.model.Item;
+
+import java.util.List;
+
+public interface ItemSearchEngine {
+
+    /**
+     * Returns available items whose name or description contains the query, most relevant first.
+     */
+    List<Item> search(String query, Pageable pageable);
+}
@@ -1,19 +1,23 @@
 package ru.practicum.shareit.item;
 
+import io.micrometer.core.annotation.Timed;
 import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.util.ObjectUtils;
-import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.dto.ItemBookingView;
+import ru.practicum.shareit.booking.repository.BookingRepository;
 
 import ru.practicum.shareit.exception.NotFoundException;
 import ru.practicum.shareit.item.dto.BookingResponseDto;
 import ru.practicum.shareit.item.dto.CommentResponse;
+import ru.practicum.shareit.item.dto.ItemDetailsView;
 import ru.practicum.shareit.item.dto.ItemDto;
 
 import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.model.ItemStats;
 import ru.practicum.shareit.request.ItemRequest;
 import ru.practicum.shareit.request.ItemRequestRepository;
 import ru.practicum.shareit.user.User;
@@ -21,35 +25,38 @@ import ru.practicum.shareit.user.UserRepository;
 
 import java.time.LocalDateTime;
 import java.util.Collections;
-import java.util.Comparator;
 import java.util.List;
 import java.util.Map;
-import java.util.function.Function;
+import java.util.Set;
 import java.util.stream.Collectors;
 
-import static ru.practicum.shareit.booking.model.Status.APPROVED;
-import static ru.practicum.shareit.booking.model.Status.WAITING;
-
 @Service
+@Timed(value = "shareit.service", histogram = true)
 @RequiredArgsConstructor
 @Transactional
 public class ItemServiceImpl implements ItemService {
+    /**
+     * Comments embedded in item views, newest first; older ones are paged through {@code /items/{id}/comments}.
+     */
+    static final int LATEST_COMMENTS = 10;
+
     private final ItemRepository itemRepository;
     private final ItemMapper itemMapper;
     private final UserRepository userRepository;
     private final CommentService commentService;
     private final ItemRequestRepository requestRepository;
+    private final BookingRepository bookingRepository;
+    private final ItemSearchEngine itemSearchEngine;
+    private final ItemStatsRepository itemStatsRepository;
+    private final ItemDetailsCache itemDetailsCache;
 
     @Transactional(readOnly = true)
     @Override
     public ItemDto findById(Long itemId, Long userId) {
-        Item item = itemRepository.findItemByIdWithBookingsFetched(itemId)
-                .orElseThrow(() ->
-                        new NotFoundException("Item not found."));
-        ItemDto dto = itemMapper.mapToDto(item);
-        setBookings(dto, item, userId);
-        List<CommentResponse> comments = commentService.getCommentsOfItem(itemId);
-        dto.setComments(comments);
+        ItemDto dto = itemDetailsCache.get(itemId, this::loadItemDetails);
+        if (userId.equals(dto.getOwnerId())) {
+            setBookings(List.of(dto));
+        }
         return dto;
     }
 
@@ -74,6 +81,7 @@ public class ItemServiceImpl implements ItemService {
             item.setName(dto.getName());
         }
         itemRepository.save(item);
+        itemDetailsCache.evict(itemId);
         return itemMapper.mapToDto(item);
     }
 
@@ -87,29 +95,36 @@ public class ItemServiceImpl implements ItemService {
             request = requestRepository.findById(dto.getRequestId())
                     .orElseThrow(() -> new NotFoundException("Request not found"));
         }
-        Item item = itemMapper.mapToItem(dto, owner, request);
-        return itemMapper.mapToDto(itemRepository.save(item));
+        Item item = itemRepository.save(itemMapper.mapToItem(dto, owner, request));
+        itemStatsRepository.save(ItemStats.builder().item(item).build());
+        return itemMapper.mapToDto(item);
     }
 
     @Transactional(readOnly = true)
     @Override
     public List<ItemDto> getItemsForUser(long userId, int from, int size) {
         PageRequest pageRequest = PageRequest.of(from, size, Sort.by(Sort.Direction.ASC, "name"));
-        Map<Long, Item> idToItem = itemRepository.findAllByOwnerIdFetchBookings(userId, pageRequest)
+        List<ItemDto> dtos = itemRepository.findAllByOwner_Id(userId, pageRequest)
                 .stream()
-                .collect(Collectors.toMap(Item::getId, Function.identity()));
-        Map<Long, List<CommentResponse>> itemIdToComments =
-                commentService.getItemIdToComments(idToItem.keySet());
-        return idToItem.values().stream()
-                .map(i -> {
-                    ItemDto dto = itemMapper.mapToDto(i);
-                    setBookings(dto, i, i.getOwner().getId());
-                    if (itemIdToComments.containsKey(dto.getId())) {
-                        dto.setComments(itemIdToComments.get(dto.getId()));
-                    }
-                    return dto;
-                })
+                .map(itemMapper::mapToDto)
                 .collect(Collectors.toList());
+        Set<Long> itemIds = dtos.stream()
+                .map(ItemDto::getId)
+                .collect(Collectors.toSet());
+        Map<Long, List<CommentResponse>> itemIdToComments =
+                commentService.getItemIdToLatestComments(itemIds, LATEST_COMMENTS);
+        Map<Long, Long> itemIdToCommentCount = itemIds.isEmpty() ? Collections.emptyMap()
+                : itemStatsRepository.findAllById(itemIds)
+                .stream()
+                .collect(Collectors.toMap(ItemStats::getItemId, ItemStats::getCommentCount));
+        setBookings(dtos);
+        dtos.forEach(dto -> {
+            if (itemIdToComments.containsKey(dto.getId())) {
+                dto.setComments(itemIdToComments.get(dto.getId()));
+            }
+            dto.setCommentCount(itemIdToCommentCount.getOrDefault(dto.getId(), 0L));
+        });
+        return dtos;
     }
 
     @Transactional(readOnly = true)
@@ -118,8 +133,7 @@ public class ItemServiceImpl implements ItemService {
         if (ObjectUtils.isEmpty(query)) {
             return Collections.emptyList();
         }
-        PageRequest pageRequest = PageRequest.of(from, size, Sort.by(Sort.Direction.ASC, "name"));
-        List<Item> items = itemRepository.searchAllItemFetchOwnerByQuery(query, pageRequest);
+        List<Item> items = itemSearchEngine.search(query, PageRequest.of(from, size));
 
         return items
                 .stream()
@@ -130,35 +144,45 @@ public class ItemServiceImpl implements ItemService {
     @Override
     public void deleteItemsForUser(long userId) {
         itemRepository.deleteAllByOwner_Id(userId);
+        itemDetailsCache.clear();
     }
 
     @Override
     public void deleteItem(long userId, long itemId) {
         itemRepository.deleteItemByIdAndOwner_Id(userId, itemId);
+        itemDetailsCache.evict(itemId);
     }
 
-    private void setBookings(ItemDto dto, Item item, Long userId) {
-        if (userId.equals(dto.getOwnerId())) {
-            LocalDateTime now = LocalDateTime.now();
-            List<Booking> bookings = item.getBookings();
-            bookings.stream()
-                    .filter(b -> b.getStart().isAfter(now)
-                            && (WAITING.equals(b.getStatus())
-                            || APPROVED.equals(b.getStatus())))
-                    .min(Comparator.comparing(Booking::getStart))
-                    .ifPresent(b -> dto.setNextBooking(BookingResponseDto.builder()
-                            .id(b.getId())
-                            .bookerId(b.getBooker().getId())
-                            .build()));
-
-            bookings.stream()
-                    .filter(b -> (b.getEnd().isBefore(now) || (b.getEnd().isAfter(now) && b.getStart().isBefore(now)))
-                            && APPROVED.equals(b.getStatus()))
-                    .max(Comparator.comparing(Booking::getStart))
-                    .ifPresent(b -> dto.setLastBooking(BookingResponseDto.builder()
-                            .id(b.getId())
-                            .bookerId(b.getBooker().getId())
-                            .build()));
+    private ItemDto loadItemDetails(Long itemId) {
+        ItemDetailsView item = itemRepository.findItemDetails(itemId)
+                .orElseThrow(() ->
+                        new NotFoundException("Item not found."));
+        return itemMapper.mapDetailsToDto(item, commentService.getLatestCommentsOfItem(itemId, LATEST_COMMENTS));
+    }
+
+    private void setBookings(List<ItemDto> dtos) {
+        if (dtos.isEmpty()) {
+            return;
         }
+        Set<Long> itemIds = dtos.stream()
+                .map(ItemDto::getId)
+                .collect(Collectors.toSet());
+        LocalDateTime now = LocalDateTime.now();
+        Map<Long, BookingResponseDto> itemIdToLast = toItemIdMap(
+                bookingRepository.findLastBookingsOfItems(itemIds, now));
+        Map<Long, BookingResponseDto> itemIdToNext = toItemIdMap(
+                bookingRepository.findNextBookingsOfItems(itemIds, now));
+        dtos.forEach(dto -> {
+            dto.setLastBooking(itemIdToLast.get(dto.getId()));
+            dto.setNextBooking(itemIdToNext.get(dto.getId()));
+        });
+    }
+
+    private Map<Long, BookingResponseDto> toItemIdMap(List<ItemBookingView> bookings) {
+        return bookings.stream()
+                .collect(Collectors.toMap(ItemBookingView::getItemId, b -> BookingResponseDto.builder()
+                        .id(b.getId())
+                        .bookerId(b.getBookerId())
+                        .build()));
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,110 @@
+package ru.practicum.shareit.item;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import ru.practicum.shareit.item.dto.ItemStatsView;
+import ru.practicum.shareit.item.model.ItemStats;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Recomputes the {@code item_stats} counters from bookings and comments in batches of items, fixing and counting
+ * the rows that drifted ({@code shareit.item.stats.drift}) and creating missing ones. Each batch runs in its own
+ * transaction with its stats rows locked, so concurrent bookings and comments of those items wait for it.
+ */
+@Slf4j
+@Component
+public class ItemStatsReconciler {
+    private final ItemStatsRepository itemStatsRepository;
+    private final ItemRepository itemRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final Counter drift;
+    private final int batchSize;
+
+    public ItemStatsReconciler(ItemStatsRepository itemStatsRepository,
+                               ItemRepository itemRepository,
+                               PlatformTransactionManager transactionManager,
+                               MeterRegistry meterRegistry,
+                               @Value("${shareit.item-stats.reconcile.batch-size}") int batchSize) {
+        this.itemStatsRepository = itemStatsRepository;
+        this.itemRepository = itemRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.drift = Counter.builder("shareit.item.stats.drift")
+                .description("Items whose counters differed from their bookings and comments")
+                .register(meterRegistry);
+        this.batchSize = batchSize;
+    }
+
+    /**
+     * Returns the number of items whose counters had to be fixed.
+     */
+    @Scheduled(cron = "${shareit.item-stats.reconcile.cron}")
+    public long reconcile() {
+        long checked = 0;
+        long drifted = 0;
+        Long afterId = 0L;
+        List<Long> itemIds;
+        while (!(itemIds = itemStatsRepository.findItemIdsAfter(afterId, PageRequest.of(0, batchSize))).isEmpty()) {
+            List<Long> batch = itemIds;
+            drifted += transactionTemplate.execute(status -> reconcileBatch(batch));
+            checked += batch.size();
+            afterId = batch.get(batch.size() - 1);
+        }
+        log.info("Reconciled item stats: {} items checked, {} drifted", checked, drifted);
+        return drifted;
+    }
+
+    /**
+     * Rebuilds the counters of one item inside the caller's transaction, creating its row if missing. Used by the
+     * write paths when a counter update finds no row, e.g. for an item inserted outside JPA; pending changes are
+     * flushed first so the recount includes them.
+     */
+    public void reconcileItem(Long itemId) {
+        itemStatsRepository.flush();
+        reconcileBatch(List.of(itemId));
+    }
+
+    private int reconcileBatch(List<Long> itemIds) {
+        Map<Long, ItemStats> itemIdToStats = itemStatsRepository.findAllByItemIdInForUpdate(itemIds).stream()
+                .collect(Collectors.toMap(ItemStats::getItemId, Function.identity()));
+        int drifted = 0;
+        for (ItemStatsView actual : itemStatsRepository.computeStats(itemIds)) {
+            ItemStats stats = itemIdToStats.get(actual.getItemId());
+            if (stats != null && matches(stats, actual)) {
+                continue;
+            }
+            log.warn("Item stats drifted for item {}: stored {}, actual comments={}, bookings={}, approved={}, " +
+                            "lastBookedAt={}", actual.getItemId(), stats, actual.getCommentCount(),
+                    actual.getBookingCount(), actual.getApprovedBookingCount(), actual.getLastBookedAt());
+            if (stats == null) {
+                stats = ItemStats.builder().item(itemRepository.getReferenceById(actual.getItemId())).build();
+            }
+            stats.setCommentCount(actual.getCommentCount());
+            stats.setBookingCount(actual.getBookingCount());
+            stats.setApprovedBookingCount(actual.getApprovedBookingCount());
+            stats.setLastBookedAt(actual.getLastBookedAt());
+            itemStatsRepository.save(stats);
+            drift.increment();
+            drifted++;
+        }
+        return drifted;
+    }
+
+    private static boolean matches(ItemStats stats, ItemStatsView actual) {
+        return stats.getCommentCount() == actual.getCommentCount()
+                && stats.getBookingCount() == actual.getBookingCount()
+                && stats.getApprovedBookingCount() == actual.getApprovedBookingCount()
+                && Objects.equals(stats.getLastBookedAt(), actual.getLastBookedAt());
+    }
+}
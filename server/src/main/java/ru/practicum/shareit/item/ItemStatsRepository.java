@@ -0,0 +1,54 @@
+package ru.practicum.shareit.item;
+
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import ru.practicum.shareit.item.dto.ItemStatsView;
+import ru.practicum.shareit.item.model.ItemStats;
+
+import javax.persistence.LockModeType;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+public interface ItemStatsRepository extends JpaRepository<ItemStats, Long> {
+    /**
+     * Actual counters of the items {@code i}, in {@code item_stats} column order; callers append the where clause.
+     * The load-test seeder builds its {@code item_stats} rows with the same select.
+     */
+    String COMPUTE_STATS = "select i.id as \"itemId\", " +
+            "(select count(*) from comments c where c.item_id = i.id) as \"commentCount\", " +
+            "(select count(*) from bookings b where b.item_id = i.id) as \"bookingCount\", " +
+            "(select count(*) from bookings b where b.item_id = i.id and b.status = 'APPROVED') " +
+            "as \"approvedBookingCount\", " +
+            "(select max(b.start_date) from bookings b where b.item_id = i.id) as \"lastBookedAt\" " +
+            "from items i ";
+
+    @Modifying
+    @Query("update ItemStats s set s.commentCount = s.commentCount + 1 where s.itemId = :itemId")
+    int incrementCommentCount(@Param("itemId") Long itemId);
+
+    @Modifying
+    @Query("update ItemStats s set s.bookingCount = s.bookingCount + :count, " +
+            "s.lastBookedAt = case when s.lastBookedAt is null or s.lastBookedAt < :start " +
+            "then :start else s.lastBookedAt end " +
+            "where s.itemId = :itemId")
+    int addBookings(@Param("itemId") Long itemId, @Param("count") long count, @Param("start") LocalDateTime start);
+
+    @Modifying
+    @Query("update ItemStats s set s.approvedBookingCount = s.approvedBookingCount + :delta where s.itemId = :itemId")
+    int addApprovedBookings(@Param("itemId") Long itemId, @Param("delta") long delta);
+
+    @Query("select i.id from Item i where i.id > :afterId order by i.id")
+    List<Long> findItemIdsAfter(@Param("afterId") Long afterId, Pageable pageable);
+
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("select s from ItemStats s where s.itemId in :itemIds")
+    List<ItemStats> findAllByItemIdInForUpdate(@Param("itemIds") Collection<Long> itemIds);
+
+    @Query(value = COMPUTE_STATS + "where i.id in (:itemIds)", nativeQuery = true)
+    List<ItemStatsView> computeStats(@Param("itemIds") Collection<Long> itemIds);
+}
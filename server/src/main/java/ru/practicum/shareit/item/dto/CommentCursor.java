@@ -0,0 +1,30 @@
+package ru.practicum.shareit.item.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import ru.practicum.shareit.pagination.KeysetCursorCodec;
+
+import java.time.LocalDateTime;
+
+/**
+ * Position in an item's comments ordered by {@code created desc, id desc}: the next page starts right after the
+ * comment with this creation time and id.
+ */
+@Getter
+@AllArgsConstructor
+public final class CommentCursor {
+    private final LocalDateTime created;
+    private final Long id;
+
+    public static CommentCursor of(CommentResponse comment) {
+        return new CommentCursor(comment.getCreated(), comment.getId());
+    }
+
+    public static CommentCursor decode(String token) {
+        return KeysetCursorCodec.decode(token, CommentCursor::new);
+    }
+
+    public String encode() {
+        return KeysetCursorCodec.encode(created, id);
+    }
+}
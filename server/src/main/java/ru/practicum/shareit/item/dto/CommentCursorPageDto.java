@@ -0,0 +1,16 @@
+package ru.practicum.shareit.item.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+import java.util.List;
+
+/**
+ * One page of an item's comments, newest first; {@code nextCursor} is {@code null} on the last page.
+ */
+@Data
+@AllArgsConstructor
+public final class CommentCursorPageDto {
+    private List<CommentResponse> comments;
+    private String nextCursor;
+}
@@ -0,0 +1,17 @@
+package ru.practicum.shareit.item.dto;
+
+public interface ItemDetailsView {
+    Long getId();
+
+    Long getOwnerId();
+
+    String getName();
+
+    String getDescription();
+
+    Boolean getAvailable();
+
+    Long getRequestId();
+
+    Long getCommentCount();
+}
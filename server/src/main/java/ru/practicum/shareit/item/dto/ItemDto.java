@@ -9,7 +9,7 @@ import javax.validation.constraints.NotNull;
 import java.util.List;
 
 @Data
-@Builder
+@Builder(toBuilder = true)
 @AllArgsConstructor
 public final class ItemDto {
     private Long id;
@@ -24,4 +24,5 @@ public final class ItemDto {
     private BookingResponseDto lastBooking;
     private BookingResponseDto nextBooking;
     private List<CommentResponse> comments;
+    private Long commentCount;
 }
\ No newline at end of file
@@ -0,0 +1,18 @@
+package ru.practicum.shareit.item.dto;
+
+import java.time.LocalDateTime;
+
+/**
+ * Item counters computed from the bookings and comments tables.
+ */
+public interface ItemStatsView {
+    Long getItemId();
+
+    Long getCommentCount();
+
+    Long getBookingCount();
+
+    Long getApprovedBookingCount();
+
+    LocalDateTime getLastBookedAt();
+}
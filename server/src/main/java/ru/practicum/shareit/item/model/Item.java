@@ -20,7 +20,8 @@ import java.util.List;
 @Generated
 public class Item {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "items_seq")
+    @SequenceGenerator(name = "items_seq", sequenceName = "items_seq", allocationSize = 50)
     private Long id;
     @ToString.Exclude
     @ManyToOne(fetch = FetchType.LAZY)
@@ -0,0 +1,41 @@
+package ru.practicum.shareit.item.model;
+
+import lombok.*;
+
+import javax.persistence.*;
+import java.time.LocalDateTime;
+
+/**
+ * Per-item counters maintained in the same transaction as the bookings and comments they count, so item views
+ * and rankings do not have to scan those tables; {@code ItemStatsReconciler} repairs any drift.
+ */
+@Getter
+@Setter
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+@ToString
+@Entity
+@Generated
+@Table(name = "item_stats")
+public class ItemStats {
+    @Id
+    @Column(name = "item_id")
+    private Long itemId;
+    @ToString.Exclude
+    @MapsId
+    @OneToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "item_id")
+    private Item item;
+    @Column(name = "comment_count", nullable = false)
+    private long commentCount;
+    @Column(name = "booking_count", nullable = false)
+    private long bookingCount;
+    @Column(name = "approved_booking_count", nullable = false)
+    private long approvedBookingCount;
+    /**
+     * Latest start of any booking of the item.
+     */
+    @Column(name = "last_booked_at")
+    private LocalDateTime lastBookedAt;
+}
@@ -0,0 +1,67 @@
+package ru.practicum.shareit.metrics;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+
+import java.util.stream.Collectors;
+
+/**
+ * Hibernate {@link StatementInspector} that counts the SQL statements prepared on the current thread.
+ * When a budget is set with {@link #start(long)}, the statement that first goes over it is remembered together with
+ * the application frames that issued it, which is usually the loop or lazy association behind an N+1.
+ * Statements are passed through unchanged.
+ */
+public class JdbcStatementCounter implements StatementInspector {
+    private static final String APPLICATION_PACKAGE = "ru.practicum.shareit.";
+    private static final int CALL_SITE_FRAMES = 5;
+    private static final ThreadLocal<Tally> TALLY = ThreadLocal.withInitial(Tally::new);
+
+    @Override
+    public String inspect(String sql) {
+        Tally tally = TALLY.get();
+        if (++tally.count == tally.budget + 1) {
+            tally.overBudgetSite = callSite() + " executing [" + sql + "]";
+        }
+        return sql;
+    }
+
+    public static long current() {
+        return TALLY.get().count;
+    }
+
+    public static void reset() {
+        start(-1);
+    }
+
+    /**
+     * Resets the count and sets the number of statements the current unit of work may execute.
+     */
+    public static void start(long budget) {
+        Tally tally = TALLY.get();
+        tally.count = 0;
+        tally.budget = budget;
+        tally.overBudgetSite = null;
+    }
+
+    /**
+     * Returns where the first statement over the budget came from, or {@code null} if the budget holds.
+     */
+    public static String overBudgetSite() {
+        return TALLY.get().overBudgetSite;
+    }
+
+    private static String callSite() {
+        return StackWalker.getInstance().walk(frames -> frames
+                .filter(frame -> frame.getClassName().startsWith(APPLICATION_PACKAGE)
+                        && !frame.getClassName().startsWith(JdbcStatementCounter.class.getPackageName())
+                        && !frame.getClassName().contains("$$"))
+                .limit(CALL_SITE_FRAMES)
+                .map(frame -> frame.getClassName() + "." + frame.getMethodName() + ":" + frame.getLineNumber())
+                .collect(Collectors.joining(" <- ")));
+    }
+
+    private static final class Tally {
+        private long count;
+        private long budget = -1;
+        private String overBudgetSite;
+    }
+}
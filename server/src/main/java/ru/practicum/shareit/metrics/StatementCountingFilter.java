@@ -0,0 +1,61 @@
+package ru.practicum.shareit.metrics;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+
+import javax.servlet.FilterChain;
+import javax.servlet.ServletException;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+
+/**
+ * Records how many JDBC statements each HTTP request executed as the {@code shareit.http.jdbc.statements}
+ * summary, tagged like {@code http.server.requests}, so an N+1 regression shows up as a growing per-endpoint mean.
+ * A request over the statement budget is logged with the call site of the first statement over it and counted in
+ * {@code shareit.http.jdbc.over.budget} for alerting.
+ */
+@Slf4j
+public class StatementCountingFilter extends OncePerRequestFilter {
+    static final String METRIC = "shareit.http.jdbc.statements";
+    static final String OVER_BUDGET_METRIC = "shareit.http.jdbc.over.budget";
+
+    private final MeterRegistry meterRegistry;
+    private final long statementBudget;
+
+    public StatementCountingFilter(MeterRegistry meterRegistry, long statementBudget) {
+        this.meterRegistry = meterRegistry;
+        this.statementBudget = statementBudget;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        JdbcStatementCounter.start(statementBudget);
+        try {
+            chain.doFilter(request, response);
+        } finally {
+            Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+            String uri = pattern != null ? pattern.toString() : "UNKNOWN";
+            long statements = JdbcStatementCounter.current();
+            Tags tags = Tags.of("method", request.getMethod(), "uri", uri);
+            DistributionSummary.builder(METRIC)
+                    .description("JDBC statements executed per HTTP request")
+                    .baseUnit("statements")
+                    .tags(tags)
+                    .tag("status", String.valueOf(response.getStatus()))
+                    .publishPercentileHistogram()
+                    .register(meterRegistry)
+                    .record(statements);
+            if (statements > statementBudget) {
+                meterRegistry.counter(OVER_BUDGET_METRIC, tags).increment();
+                log.warn("{} {} executed {} JDBC statements, budget is {}. First statement over budget: {}",
+                        request.getMethod(), uri, statements, statementBudget, JdbcStatementCounter.overBudgetSite());
+            }
+        }
+    }
+}
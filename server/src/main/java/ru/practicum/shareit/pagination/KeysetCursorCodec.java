@@ -0,0 +1,41 @@
+package ru.practicum.shareit.pagination;
+
+import ru.practicum.shareit.exception.ValidationException;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+import java.util.function.BiFunction;
+
+/**
+ * Encodes the position of a keyset page, a timestamp and an id breaking its ties, as the opaque URL-safe token sent
+ * to clients.
+ */
+public final class KeysetCursorCodec {
+
+    private KeysetCursorCodec() {
+    }
+
+    public static String encode(LocalDateTime position, Long id) {
+        return Base64.getUrlEncoder().withoutPadding()
+                .encodeToString((position + "," + id).getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Decodes a token produced by {@link #encode}; an empty token means the first page and yields {@code null}.
+     */
+    public static <T> T decode(String token, BiFunction<LocalDateTime, Long, T> cursor) {
+        if (token == null || token.isEmpty()) {
+            return null;
+        }
+        try {
+            String value = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            int separator = value.lastIndexOf(',');
+            return cursor.apply(LocalDateTime.parse(value.substring(0, separator)),
+                    Long.parseLong(value.substring(separator + 1)));
+        } catch (IllegalArgumentException | IndexOutOfBoundsException | DateTimeParseException e) {
+            throw new ValidationException("Invalid cursor: " + token);
+        }
+    }
+}
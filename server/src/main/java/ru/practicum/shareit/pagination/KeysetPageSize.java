@@ -0,0 +1,25 @@
+package ru.practicum.shareit.pagination;
+
+import ru.practicum.shareit.exception.ValidationException;
+
+/**
+ * Size limits of keyset pages. The gateway enforces the same bound, this check keeps direct calls to the server from
+ * loading unbounded pages.
+ */
+public final class KeysetPageSize {
+    public static final int MAX = 100;
+
+    private KeysetPageSize() {
+    }
+
+    /**
+     * Returns the number of rows to fetch for a page of {@code size}: one more than the page, to tell whether a next
+     * page exists.
+     */
+    public static int withLookahead(int size) {
+        if (size < 1 || size > MAX) {
+            throw new ValidationException("Page size must be between 1 and " + MAX + ": " + size);
+        }
+        return size + 1;
+    }
+}
@@ -1,7 +1,7 @@
 package ru.practicum.shareit.request;
 
-import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.JpaRepository;
 
 import java.util.List;
@@ -10,5 +10,5 @@ public interface ItemRequestRepository extends JpaRepository<ItemRequest, Long>
 
     List<ItemRequest> findAllByRequesterId(Long userId);
 
-    Page<ItemRequest> findAllByRequesterIdNot(Long userId, Pageable pageable);
+    Slice<ItemRequest> findAllByRequesterIdNot(Long userId, Pageable pageable);
 }
@@ -1,8 +1,9 @@
 package ru.practicum.shareit.request;
 
+import io.micrometer.core.annotation.Timed;
 import lombok.AllArgsConstructor;
-import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
 import ru.practicum.shareit.exception.NotFoundException;
@@ -12,21 +13,29 @@ import ru.practicum.shareit.request.dto.ItemRequestDto;
 import ru.practicum.shareit.request.dto.ItemRequestResponseDto;
 import ru.practicum.shareit.request.dto.ItemResponseDto;
 import ru.practicum.shareit.user.User;
+import ru.practicum.shareit.user.UserExistenceCache;
 import ru.practicum.shareit.user.UserRepository;
 
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 import java.util.stream.Collectors;
 
 @Service
+@Timed(value = "shareit.service", histogram = true)
 @AllArgsConstructor
 public class ItemRequestServiceImpl implements ItemRequestService {
     private final ItemRequestRepository itemRequestRepository;
     private final UserRepository userRepository;
+    private final UserExistenceCache userExistenceCache;
     private final RequestMapper requestMapper;
     private final ItemRepository itemRepository;
 
     @Override
     public ItemRequestResponseDto create(ItemRequestDto dto, Long requesterId) {
+        // Writes look the user up instead of trusting the cache, which may still hold a user deleted elsewhere
         User requester = userRepository.findById(requesterId)
                 .orElseThrow(() -> new NotFoundException("User not found"));
         ItemRequest itemRequest = requestMapper.toItemRequest(dto, requester);
@@ -35,23 +44,18 @@ public class ItemRequestServiceImpl implements ItemRequestService {
 
     @Override
     public List<ItemRequestResponseDto> getAllUserRequests(Long userId) {
-        userRepository.findById(userId)
-                .orElseThrow(() -> new NotFoundException("User not found"));
+        userExistenceCache.requireExists(userId);
 
         List<ItemRequestResponseDto> itemRequestResponseDtos = itemRequestRepository.findAllByRequesterId(userId)
                 .stream()
                 .map(requestMapper::toResponseDto)
                 .collect(Collectors.toList());
 
-        List<Item> items = itemRepository.findAll();
-
-        itemRequestResponseDtos.forEach(dto -> {
-            List<ItemResponseDto> itemResponseDtos = items.stream()
-                    .filter(item -> item.getRequest() != null && item.getRequest().getId().equals(dto.getId()))
-                    .map(item -> requestMapper.mapToItemResponse(item, dto.getId()))
-                    .collect(Collectors.toList());
-            dto.setItems(itemResponseDtos);
-        });
+        Map<Long, List<ItemResponseDto>> requestIdToItems = getRequestIdToItems(itemRequestResponseDtos.stream()
+                .map(ItemRequestResponseDto::getId)
+                .collect(Collectors.toSet()));
+        itemRequestResponseDtos.forEach(dto ->
+                dto.setItems(requestIdToItems.getOrDefault(dto.getId(), new ArrayList<>())));
 
         return itemRequestResponseDtos;
     }
@@ -59,20 +63,16 @@ public class ItemRequestServiceImpl implements ItemRequestService {
     @Override
     public List<ItemRequestResponseDto> getAllRequests(Long userId, int from, int size) {
         PageRequest pageRequest = PageRequest.of(from, size, Sort.by(Sort.Direction.DESC, "created"));
-        Page<ItemRequest> requests = itemRequestRepository.findAllByRequesterIdNot(userId, pageRequest);
+        Slice<ItemRequest> requests = itemRequestRepository.findAllByRequesterIdNot(userId, pageRequest);
 
-        List<Item> items = itemRepository.findAll();
+        Map<Long, List<ItemResponseDto>> requestIdToItems = getRequestIdToItems(requests.stream()
+                .map(ItemRequest::getId)
+                .collect(Collectors.toSet()));
 
         return requests.stream()
                 .map(request -> {
                     ItemRequestResponseDto dto = requestMapper.toResponseDto(request);
-
-                    List<ItemResponseDto> itemResponseDtos = items.stream()
-                            .filter(item -> item.getRequest() != null && item.getRequest().getId().equals(request.getId()))
-                            .map(item -> requestMapper.mapToItemResponse(item, request.getId()))
-                            .collect(Collectors.toList());
-
-                    dto.setItems(itemResponseDtos);
+                    dto.setItems(requestIdToItems.getOrDefault(request.getId(), new ArrayList<>()));
                     return dto;
                 })
                 .collect(Collectors.toList());
@@ -80,8 +80,7 @@ public class ItemRequestServiceImpl implements ItemRequestService {
 
     @Override
     public ItemRequestResponseDto getRequestById(Long requestId, Long userId) {
-        userRepository.findById(userId)
-                .orElseThrow(() -> new NotFoundException("User not found"));
+        userExistenceCache.requireExists(userId);
         ItemRequest itemRequest = itemRequestRepository.findById(requestId)
                 .orElseThrow(() -> new NotFoundException("ItemRequest not found"));
         List<Item> items = itemRepository.findAllByRequestId(requestId);
@@ -92,4 +91,15 @@ public class ItemRequestServiceImpl implements ItemRequestService {
         itemRequestResponseDto.setItems(itemResponseDtos);
         return itemRequestResponseDto;
     }
+
+    private Map<Long, List<ItemResponseDto>> getRequestIdToItems(Set<Long> requestIds) {
+        if (requestIds.isEmpty()) {
+            return Collections.emptyMap();
+        }
+        return itemRepository.findAllByRequestIdIn(requestIds)
+                .stream()
+                .collect(Collectors.groupingBy(item -> item.getRequest().getId(),
+                        Collectors.mapping(item -> requestMapper.mapToItemResponse(item, item.getRequest().getId()),
+                                Collectors.toList())));
+    }
 }
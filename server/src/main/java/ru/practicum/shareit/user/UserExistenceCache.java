@@ -0,0 +1,74 @@
+package ru.practicum.shareit.user;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import ru.practicum.shareit.exception.NotFoundException;
+
+import java.time.Duration;
+
+/**
+ * Ids of users known to exist, for the "user not found" guards that need no user data. Only hits are cached,
+ * so a user created after a miss is seen at once; deletions evict through {@link UserServiceImpl}, on this instance
+ * only. A hit may therefore name a user deleted elsewhere, so the cache backs read-only checks and never a write
+ * that references the user.
+ */
+@Component
+public class UserExistenceCache implements MeterBinder {
+    private final UserRepository userRepository;
+    private final Cache<Long, Boolean> existing;
+
+    public UserExistenceCache(UserRepository userRepository,
+                              @Value("${shareit.cache.user-existence.max-size}") long maxSize,
+                              @Value("${shareit.cache.user-existence.ttl}") Duration ttl) {
+        this.userRepository = userRepository;
+        this.existing = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(ttl)
+                .recordStats()
+                .build();
+    }
+
+    public void requireExists(Long userId) {
+        if (existing.getIfPresent(userId) != null) {
+            return;
+        }
+        if (!userRepository.existsById(userId)) {
+            throw new NotFoundException("User not found");
+        }
+        existing.put(userId, Boolean.TRUE);
+    }
+
+    public void markExisting(Long userId) {
+        afterCommit(() -> existing.put(userId, Boolean.TRUE));
+    }
+
+    public void evict(Long userId) {
+        existing.invalidate(userId);
+        afterCommit(() -> existing.invalidate(userId));
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        CaffeineCacheMetrics.monitor(registry, existing, "userExistence");
+    }
+
+    private static void afterCommit(Runnable action) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    action.run();
+                }
+            });
+        } else {
+            action.run();
+        }
+    }
+}
@@ -1,21 +1,26 @@
 package ru.practicum.shareit.user;
 
+import io.micrometer.core.annotation.Timed;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import ru.practicum.shareit.exception.NotFoundException;
+import ru.practicum.shareit.item.ItemDetailsCache;
 import ru.practicum.shareit.user.dto.UserDto;
 
 import java.util.List;
 import java.util.stream.Collectors;
 
 @Service
+@Timed(value = "shareit.service", histogram = true)
 @Transactional
 @RequiredArgsConstructor
 public class UserServiceImpl implements UserService {
 
     private final UserRepository userRepository;
     private final UserMapper userMapper;
+    private final UserExistenceCache userExistenceCache;
+    private final ItemDetailsCache itemDetailsCache;
 
     @Override
     public List<UserDto> getUsers() {
@@ -32,14 +37,18 @@ public class UserServiceImpl implements UserService {
 
     @Override
     public UserDto save(UserDto userDto) {
-        return userMapper.toUserDto(userRepository.save(userMapper.toUser(userDto)));
+        User user = userRepository.save(userMapper.toUser(userDto));
+        userExistenceCache.markExisting(user.getId());
+        return userMapper.toUserDto(user);
     }
 
     @Override
     public UserDto update(UserDto dto, Long userId) {
         User user = userRepository.findById(userId)
                 .orElseThrow(() -> new NotFoundException(String.format("User with ID = %d not found", userId)));
-        if (dto.getName() != null) {
+        if (dto.getName() != null && !dto.getName().equals(user.getName())) {
+            // cached item details embed comment author names
+            itemDetailsCache.evictOwnedOrCommentedBy(userId, user.getName());
             user.setName(dto.getName());
         }
         if (dto.getEmail() != null) {
@@ -53,5 +62,6 @@ public class UserServiceImpl implements UserService {
     @Override
     public void delete(Long id) {
         userRepository.deleteById(id);
+        userExistenceCache.evict(id);
     }
 }
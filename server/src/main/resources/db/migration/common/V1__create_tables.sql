@@ -1,5 +1,3 @@
-DROP TABLE IF EXISTS users, items, bookings, requests, comments;
-
 CREATE TABLE IF NOT EXISTS users (
                                      id BIGINT GENERATED BY DEFAULT AS IDENTITY NOT NULL,
                                      name VARCHAR(255) NOT NULL,
@@ -51,5 +49,3 @@ CREATE TABLE IF NOT EXISTS comments (
                                      CONSTRAINT fk_comments_items FOREIGN KEY (item_id) REFERENCES items (id),
                                      CONSTRAINT fk_comments_users FOREIGN KEY (author_id) REFERENCES users(id)
 );
-
-
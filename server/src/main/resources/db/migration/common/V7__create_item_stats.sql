@@ -0,0 +1,9 @@
+CREATE TABLE IF NOT EXISTS item_stats (
+                                     item_id BIGINT NOT NULL,
+                                     comment_count BIGINT DEFAULT 0 NOT NULL,
+                                     CONSTRAINT pk_item_stats PRIMARY KEY (item_id),
+                                     CONSTRAINT fk_item_stats_items FOREIGN KEY (item_id) REFERENCES items (id) ON DELETE CASCADE
+);
+
+INSERT INTO item_stats (item_id, comment_count)
+SELECT i.id, (SELECT COUNT(*) FROM comments c WHERE c.item_id = i.id) FROM items i;
@@ -0,0 +1,11 @@
+ALTER TABLE item_stats ADD COLUMN IF NOT EXISTS booking_count BIGINT DEFAULT 0 NOT NULL;
+
+ALTER TABLE item_stats ADD COLUMN IF NOT EXISTS approved_booking_count BIGINT DEFAULT 0 NOT NULL;
+
+ALTER TABLE item_stats ADD COLUMN IF NOT EXISTS last_booked_at TIMESTAMP WITHOUT TIME ZONE;
+
+UPDATE item_stats SET
+    booking_count = (SELECT COUNT(*) FROM bookings b WHERE b.item_id = item_stats.item_id),
+    approved_booking_count = (SELECT COUNT(*) FROM bookings b
+                              WHERE b.item_id = item_stats.item_id AND b.status = 'APPROVED'),
+    last_booked_at = (SELECT MAX(b.start_date) FROM bookings b WHERE b.item_id = item_stats.item_id);
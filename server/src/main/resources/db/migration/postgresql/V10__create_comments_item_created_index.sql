@@ -0,0 +1 @@
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_comments_item_created ON comments (item_id, created DESC, id DESC);
@@ -0,0 +1,4 @@
+-- Booking ids come from this sequence in blocks of 50 (Hibernate pooled-lo), so booking inserts can be batched
+CREATE SEQUENCE IF NOT EXISTS bookings_seq START WITH 1 INCREMENT BY 50;
+
+SELECT setval('bookings_seq', (SELECT COALESCE(MAX(id), 0) + 1 FROM bookings), false);
@@ -0,0 +1,126 @@
+package ru.practicum.shareit;
+
+import lombok.extern.slf4j.Slf4j;
+import org.hibernate.Session;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.support.GeneratedKeyHolder;
+import org.springframework.jdbc.support.KeyHolder;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.transaction.support.TransactionTemplate;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.user.User;
+
+import javax.persistence.EntityManager;
+import java.sql.PreparedStatement;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.function.IntConsumer;
+
+/**
+ * Reports insert throughput of users and their items for three id strategies: one round trip per row with the
+ * generated key read back (what {@code IDENTITY} ids forced; the key now comes from the column's sequence default),
+ * sequence ids with JDBC batching switched off, and sequence ids with the configured batching. Disabled by default; run with
+ * {@code mvn test -pl server -Dtest=BulkInsertBenchmarkTest -Dshareit.benchmark=true}.
+ */
+@Slf4j
+@SpringBootTest
+@DirtiesContext
+@EnabledIfSystemProperty(named = "shareit.benchmark", matches = "true")
+public class BulkInsertBenchmarkTest {
+
+    private static final int ITEMS_PER_USER = 4;
+    private static final int ROUNDS = 5;
+
+    private final int users = Integer.getInteger("shareit.benchmark.users", 5_000);
+    private int round;
+
+    @Autowired
+    private EntityManager em;
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Test
+    void bulkInsertThroughput() {
+        report("generated key, row by row", this::insertRowByRow);
+        report("sequence, unbatched", rows -> insertWithJpa(rows, 1));
+        report("sequence, batched", rows -> insertWithJpa(rows, null));
+    }
+
+    private void report(String strategy, IntConsumer insert) {
+        insert.accept(users / 10);
+        clean();
+        long[] nanos = new long[ROUNDS];
+        for (int i = 0; i < ROUNDS; i++) {
+            long started = System.nanoTime();
+            insert.accept(users);
+            nanos[i] = System.nanoTime() - started;
+            clean();
+        }
+        Arrays.sort(nanos);
+        long rows = (long) users * (1 + ITEMS_PER_USER);
+        log.info("{}: {} rows/s (median of {} runs, {} rows each)", strategy,
+                rows * 1_000_000_000L / nanos[ROUNDS / 2], ROUNDS, rows);
+    }
+
+    private void insertRowByRow(int rows) {
+        int prefix = ++round;
+        transactionTemplate.executeWithoutResult(status -> {
+            for (int i = 0; i < rows; i++) {
+                long ownerId = insertReturningId("insert into users (name, email) values (?, ?)",
+                        "user" + i, prefix + "-user" + i + "@mail.ru");
+                for (int j = 0; j < ITEMS_PER_USER; j++) {
+                    insertReturningId("insert into items (name, description, is_available, owner_id) " +
+                            "values (?, ?, ?, ?)", "item" + j, "description" + j, true, ownerId);
+                }
+            }
+        });
+    }
+
+    private long insertReturningId(String sql, Object... args) {
+        KeyHolder keyHolder = new GeneratedKeyHolder();
+        jdbcTemplate.update(connection -> {
+            PreparedStatement ps = connection.prepareStatement(sql, Statement.RETURN_GENERATED_KEYS);
+            for (int i = 0; i < args.length; i++) {
+                ps.setObject(i + 1, args[i]);
+            }
+            return ps;
+        }, keyHolder);
+        return keyHolder.getKey().longValue();
+    }
+
+    private void insertWithJpa(int rows, Integer batchSize) {
+        int prefix = ++round;
+        transactionTemplate.executeWithoutResult(status -> {
+            em.unwrap(Session.class).setJdbcBatchSize(batchSize);
+            for (int i = 0; i < rows; i++) {
+                User owner = new User(null, "user" + i, prefix + "-user" + i + "@mail.ru");
+                em.persist(owner);
+                for (int j = 0; j < ITEMS_PER_USER; j++) {
+                    em.persist(Item.builder()
+                            .name("item" + j)
+                            .description("description" + j)
+                            .available(true)
+                            .owner(owner)
+                            .bookings(new ArrayList<>())
+                            .build());
+                }
+                if (i % 1_000 == 999) {
+                    em.flush();
+                    em.clear();
+                }
+            }
+        });
+    }
+
+    private void clean() {
+        jdbcTemplate.update("delete from items");
+        jdbcTemplate.update("delete from users");
+    }
+}
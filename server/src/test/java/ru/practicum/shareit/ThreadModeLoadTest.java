@@ -0,0 +1,138 @@
+package ru.practicum.shareit;
+
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.web.server.LocalServerPort;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.annotation.DirtiesContext;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Drives {@code /bookings} and {@code /items} with many concurrent clients and reports throughput and latency
+ * percentiles for the configured request thread mode. Disabled by default; compare the two modes with
+ * {@code mvn test -pl server -Dtest=ThreadModeLoadTest -Dshareit.benchmark=true -Dshareit.threads.mode=platform}
+ * and the same command with {@code -Dshareit.threads.mode=virtual} on a Java 21 runtime.
+ * The seed data is written with plain JDBC, so the {@code item_stats} counters are filled in from it the way the
+ * write path would have left them.
+ */
+@Slf4j
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@DirtiesContext
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+@EnabledIfSystemProperty(named = "shareit.benchmark", matches = "true")
+public class ThreadModeLoadTest {
+
+    private static final int USERS = 1_000;
+    private static final int ITEMS = 5_000;
+    private static final int BOOKINGS = 50_000;
+    private static final String USER_HEADER = "X-Sharer-User-Id";
+
+    private final int concurrency = Integer.getInteger("shareit.benchmark.concurrency", 400);
+    private final int requests = Integer.getInteger("shareit.benchmark.requests", 20_000);
+    private final Random random = new Random(42);
+    private final HttpClient httpClient = HttpClient.newHttpClient();
+
+    @LocalServerPort
+    private int port;
+    @Value("${shareit.threads.mode:platform}")
+    private String threadMode;
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @BeforeAll
+    void seed() {
+        LocalDateTime now = LocalDateTime.now();
+        List<Object[]> users = new ArrayList<>();
+        for (int i = 1; i <= USERS; i++) {
+            users.add(new Object[]{i, "user" + i, "user" + i + "@mail.ru"});
+        }
+        jdbcTemplate.batchUpdate("insert into users (id, name, email) values (?, ?, ?)", users);
+        List<Object[]> items = new ArrayList<>();
+        for (int i = 1; i <= ITEMS; i++) {
+            items.add(new Object[]{i, "item" + i, "description" + i, true, 1 + random.nextInt(USERS)});
+        }
+        jdbcTemplate.batchUpdate("insert into items (id, name, description, is_available, owner_id) " +
+                "values (?, ?, ?, ?, ?)", items);
+        List<Object[]> bookings = new ArrayList<>();
+        for (int i = 1; i <= BOOKINGS; i++) {
+            LocalDateTime start = now.minusDays(30).plusMinutes(random.nextInt(60 * 24 * 60));
+            bookings.add(new Object[]{i, Timestamp.valueOf(start), Timestamp.valueOf(start.plusHours(24)),
+                    1 + random.nextInt(ITEMS), 1 + random.nextInt(USERS), "APPROVED"});
+        }
+        jdbcTemplate.batchUpdate("insert into bookings (id, start_date, end_date, item_id, booker_id, status) " +
+                "values (?, ?, ?, ?, ?, ?)", bookings);
+        jdbcTemplate.update("insert into item_stats " +
+                "(item_id, comment_count, booking_count, approved_booking_count, last_booked_at) " +
+                "select i.id, 0, count(b.id), count(case when b.status = 'APPROVED' then 1 end), max(b.start_date) " +
+                "from items i left join bookings b on b.item_id = i.id group by i.id");
+    }
+
+    @Test
+    void bookingsThroughput() throws Exception {
+        report("/bookings?state=ALL&from=0&size=20");
+    }
+
+    @Test
+    void itemsThroughput() throws Exception {
+        report("/items?from=0&size=20");
+    }
+
+    private void report(String path) throws Exception {
+        ExecutorService clients = Executors.newFixedThreadPool(concurrency);
+        try {
+            run(clients, path, requests / 10);
+            long started = System.nanoTime();
+            long[] nanos = run(clients, path, requests);
+            long elapsed = System.nanoTime() - started;
+            Arrays.sort(nanos);
+            log.info("{} threads, {} concurrent clients, {}: {} req/s p50={}ms p95={}ms p99={}ms",
+                    threadMode, concurrency, path, requests * 1_000_000_000L / elapsed,
+                    nanos[requests / 2] / 1_000_000, nanos[requests * 95 / 100] / 1_000_000,
+                    nanos[requests * 99 / 100] / 1_000_000);
+        } finally {
+            clients.shutdownNow();
+        }
+    }
+
+    private long[] run(ExecutorService clients, String path, int count) throws Exception {
+        List<Future<Long>> futures = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            HttpRequest request = HttpRequest.newBuilder(URI.create("http://localhost:" + port + path))
+                    .header(USER_HEADER, String.valueOf(1 + random.nextInt(USERS)))
+                    .GET()
+                    .build();
+            futures.add(clients.submit(() -> {
+                long started = System.nanoTime();
+                HttpResponse<Void> response = httpClient.send(request, HttpResponse.BodyHandlers.discarding());
+                assertEquals(200, response.statusCode());
+                return System.nanoTime() - started;
+            }));
+        }
+        long[] nanos = new long[count];
+        for (int i = 0; i < count; i++) {
+            nanos[i] = futures.get(i).get();
+        }
+        return nanos;
+    }
+}
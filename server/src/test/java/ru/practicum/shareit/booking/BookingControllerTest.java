@@ -13,7 +13,9 @@ import java.nio.charset.StandardCharsets;
 import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
 import java.util.ArrayList;
+import java.util.EnumMap;
 import java.util.List;
+import java.util.Map;
 
 import static org.hamcrest.Matchers.is;
 import static org.mockito.ArgumentMatchers.*;
@@ -24,9 +26,14 @@ import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.
 import org.springframework.test.web.servlet.result.MockMvcResultMatchers;
 import ru.practicum.shareit.booking.controller.BookingController;
 import ru.practicum.shareit.booking.dto.BookerResponseDto;
+import ru.practicum.shareit.booking.dto.BookingCursorPageDto;
 import ru.practicum.shareit.booking.dto.BookingRequestDto;
 import ru.practicum.shareit.booking.dto.BookingResponseDto;
+import ru.practicum.shareit.booking.dto.BulkBookingRequestDto;
+import ru.practicum.shareit.booking.dto.BulkBookingResultDto;
+import ru.practicum.shareit.booking.dto.ItemBookingSummaryDto;
 import ru.practicum.shareit.booking.dto.ItemResponseDto;
+import ru.practicum.shareit.booking.dto.OwnerBookingSummaryDto;
 import ru.practicum.shareit.booking.model.State;
 import ru.practicum.shareit.booking.model.Status;
 import ru.practicum.shareit.booking.service.BookingService;
@@ -167,5 +174,51 @@ public class BookingControllerTest {
                         is(bookingResponseDto.getEnd().format(DateTimeFormatter.ISO_LOCAL_DATE_TIME))))
                 .andExpect(MockMvcResultMatchers.jsonPath("$.status", Matchers.is(bookingResponseDto.getStatus().toString())));
     }
-}
 
+    @Test
+    void getBookingsOfOwnerAfterCursor() throws Exception {
+        when(bookingService.getBookingsOfOwnerAfter(1L, State.ALL, "abc", 10))
+                .thenReturn(new BookingCursorPageDto(List.of(bookingResponseDto), "def"));
+
+        mvc.perform(get("/bookings/owner?cursor=abc")
+                        .accept(MediaType.APPLICATION_JSON)
+                        .header(USER_HEADER, 1))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.bookings[0].id", is(bookingResponseDto.getId()), Long.class))
+                .andExpect(jsonPath("$.nextCursor", is("def")));
+    }
+
+    @Test
+    void createBookingsInBulk() throws Exception {
+        when(bookingService.createAll(List.of(bookingRequestDto), 1L))
+                .thenReturn(List.of(new BulkBookingResultDto(0, null, "Item not found")));
+
+        mvc.perform(post("/bookings/bulk")
+                        .content(mapper.writeValueAsString(new BulkBookingRequestDto(List.of(bookingRequestDto))))
+                        .characterEncoding(StandardCharsets.UTF_8)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .accept(MediaType.APPLICATION_JSON)
+                        .header(USER_HEADER, 1))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].index", is(0)))
+                .andExpect(jsonPath("$[0].error", is("Item not found")));
+    }
+
+    @Test
+    void getOwnerSummary() throws Exception {
+        Map<State, Long> counts = new EnumMap<>(State.class);
+        counts.put(State.ALL, 3L);
+        counts.put(State.FUTURE, 2L);
+        when(bookingService.getOwnerSummary(1L)).thenReturn(new OwnerBookingSummaryDto(counts,
+                List.of(new ItemBookingSummaryDto(2L, "item", counts, 1))));
+
+        mvc.perform(get("/bookings/owner/summary")
+                        .accept(MediaType.APPLICATION_JSON)
+                        .header(USER_HEADER, 1))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.counts.ALL", is(3)))
+                .andExpect(jsonPath("$.counts.FUTURE", is(2)))
+                .andExpect(jsonPath("$.items[0].itemId", is(2)))
+                .andExpect(jsonPath("$.items[0].approved", is(1)));
+    }
+}
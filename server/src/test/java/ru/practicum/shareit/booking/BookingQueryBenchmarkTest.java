@@ -0,0 +1,133 @@
+package ru.practicum.shareit.booking;
+
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.annotation.DirtiesContext;
+import ru.practicum.shareit.booking.model.State;
+import ru.practicum.shareit.booking.model.Status;
+import ru.practicum.shareit.booking.service.BookingService;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import java.util.function.LongConsumer;
+
+/**
+ * Seeds a large booking table and reports page latency of the booker and owner booking lists per {@link State}.
+ * Disabled by default; run with
+ * {@code mvn test -pl server -Dtest=BookingQueryBenchmarkTest -Dshareit.benchmark=true -Dshareit.benchmark.bookings=2000000}.
+ */
+@Slf4j
+@SpringBootTest
+@DirtiesContext
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+@EnabledIfSystemProperty(named = "shareit.benchmark", matches = "true")
+public class BookingQueryBenchmarkTest {
+
+    private static final int USERS = 10_000;
+    private static final int ITEMS = 50_000;
+    private static final int BATCH_SIZE = 10_000;
+    private static final int SAMPLES = 200;
+    private static final int PAGE_SIZE = 20;
+
+    private final int bookings = Integer.getInteger("shareit.benchmark.bookings", 1_000_000);
+    private final Random random = new Random(42);
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+    @Autowired
+    private BookingService bookingService;
+
+    @BeforeAll
+    void seed() {
+        LocalDateTime now = LocalDateTime.now();
+        batchInsert("insert into users (id, name, email) values (?, ?, ?)", USERS,
+                i -> new Object[]{i, "user" + i, "user" + i + "@mail.ru"});
+        batchInsert("insert into items (id, name, description, is_available, owner_id) values (?, ?, ?, ?, ?)", ITEMS,
+                i -> new Object[]{i, "item" + i, "description" + i, true, 1 + random.nextInt(USERS)});
+        Status[] statuses = Status.values();
+        batchInsert("insert into bookings (id, start_date, end_date, item_id, booker_id, status) " +
+                "values (?, ?, ?, ?, ?, ?)", bookings, i -> {
+            LocalDateTime start = now.minusDays(365).plusMinutes(random.nextInt(2 * 365 * 24 * 60));
+            return new Object[]{i, Timestamp.valueOf(start), Timestamp.valueOf(start.plusHours(1 + random.nextInt(72))),
+                    1 + random.nextInt(ITEMS), 1 + random.nextInt(USERS),
+                    statuses[random.nextInt(statuses.length)].name()};
+        });
+        log.info("Seeded {} users, {} items and {} bookings", USERS, ITEMS, bookings);
+    }
+
+    @Test
+    void bookingsOfUserPageLatency() {
+        for (State state : State.values()) {
+            report("booker", state, userId -> bookingService.getBookingsOfUser(userId, state, 0, PAGE_SIZE));
+        }
+    }
+
+    @Test
+    void bookingsOfOwnerPageLatency() {
+        for (State state : State.values()) {
+            report("owner", state, userId -> bookingService.getBookingsOfOwner(userId, state, 0, PAGE_SIZE));
+        }
+    }
+
+    /**
+     * Latency of the {@code count(*)} round trip the list endpoints ran while the repository returned {@code Page};
+     * the {@code Slice} queries skip it, so this is what each full page now saves.
+     */
+    @Test
+    void droppedCountQueryLatency() {
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        report("booker count", State.ALL, userId -> jdbcTemplate.queryForObject(
+                "select count(*) from bookings where booker_id = ?", Long.class, userId));
+        report("booker count", State.PAST, userId -> jdbcTemplate.queryForObject(
+                "select count(*) from bookings where booker_id = ? and end_date < ?", Long.class, userId, now));
+        report("owner count", State.ALL, userId -> jdbcTemplate.queryForObject(
+                "select count(*) from bookings b join items i on i.id = b.item_id where i.owner_id = ?",
+                Long.class, userId));
+        report("owner count", State.PAST, userId -> jdbcTemplate.queryForObject(
+                "select count(*) from bookings b join items i on i.id = b.item_id " +
+                        "where i.owner_id = ? and b.end_date < ?", Long.class, userId, now));
+    }
+
+    private void report(String role, State state, LongConsumer call) {
+        for (int i = 0; i < SAMPLES / 10; i++) {
+            call.accept(1 + random.nextInt(USERS));
+        }
+        long[] nanos = new long[SAMPLES];
+        for (int i = 0; i < SAMPLES; i++) {
+            long userId = 1 + random.nextInt(USERS);
+            long started = System.nanoTime();
+            call.accept(userId);
+            nanos[i] = System.nanoTime() - started;
+        }
+        Arrays.sort(nanos);
+        log.info("{} {}: p50={}us p95={}us p99={}us over {} bookings", role, state,
+                nanos[SAMPLES / 2] / 1_000, nanos[SAMPLES * 95 / 100] / 1_000, nanos[SAMPLES * 99 / 100] / 1_000,
+                bookings);
+    }
+
+    private void batchInsert(String sql, int rows, RowFactory factory) {
+        List<Object[]> batch = new ArrayList<>(BATCH_SIZE);
+        for (int i = 1; i <= rows; i++) {
+            batch.add(factory.row(i));
+            if (batch.size() == BATCH_SIZE || i == rows) {
+                jdbcTemplate.batchUpdate(sql, batch);
+                batch.clear();
+            }
+        }
+    }
+
+    @FunctionalInterface
+    private interface RowFactory {
+        Object[] row(long id);
+    }
+}
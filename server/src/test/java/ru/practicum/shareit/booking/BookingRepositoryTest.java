@@ -0,0 +1,119 @@
+package ru.practicum.shareit.booking;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import ru.practicum.shareit.booking.dto.BookingCursor;
+import ru.practicum.shareit.booking.dto.ItemBookingView;
+import ru.practicum.shareit.booking.dto.OwnerItemBookingView;
+import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.model.State;
+import ru.practicum.shareit.booking.model.Status;
+import ru.practicum.shareit.booking.repository.BookingRepository;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.user.User;
+
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+@DataJpaTest
+public class BookingRepositoryTest {
+
+    @Autowired
+    private TestEntityManager em;
+    @Autowired
+    private BookingRepository bookingRepository;
+
+    private User booker;
+    private Item item;
+    private LocalDateTime now;
+
+    @BeforeEach
+    void setUp() {
+        now = LocalDateTime.now().truncatedTo(ChronoUnit.SECONDS);
+        User owner = em.persist(new User(null, "owner", "owner@mail.ru"));
+        booker = em.persist(new User(null, "booker", "booker@mail.ru"));
+        item = em.persist(new Item(null, owner, "item", "description", true, null, new ArrayList<>()));
+    }
+
+    @Test
+    void findLastAndNextBookingsOfItemsReturnsOneBookingPerItem() {
+        persistBooking(now.minusDays(3), now.minusDays(2), Status.APPROVED);
+        Booking last = persistBooking(now.minusDays(1), now.minusHours(1), Status.APPROVED);
+        persistBooking(now.minusHours(5), now.minusHours(4), Status.REJECTED);
+        Booking next = persistBooking(now.plusHours(1), now.plusHours(2), Status.WAITING);
+        persistBooking(now.plusDays(1), now.plusDays(2), Status.APPROVED);
+
+        List<ItemBookingView> lastBookings = bookingRepository.findLastBookingsOfItems(Set.of(item.getId()), now);
+        List<ItemBookingView> nextBookings = bookingRepository.findNextBookingsOfItems(Set.of(item.getId()), now);
+
+        assertEquals(1, lastBookings.size());
+        assertEquals(last.getId(), lastBookings.get(0).getId());
+        assertEquals(item.getId(), lastBookings.get(0).getItemId());
+        assertEquals(booker.getId(), lastBookings.get(0).getBookerId());
+        assertEquals(1, nextBookings.size());
+        assertEquals(next.getId(), nextBookings.get(0).getId());
+    }
+
+    @Test
+    void summarizeBookingsOfOwnerCountsEveryStateOfEachItemInOneRow() {
+        Item unbooked = em.persist(new Item(null, item.getOwner(), "unbooked", "description", true, null,
+                new ArrayList<>()));
+        persistBooking(now.minusDays(3), now.minusDays(2), Status.APPROVED);
+        persistBooking(now.minusDays(2), now.minusDays(1), Status.REJECTED);
+        persistBooking(now.minusHours(1), now.plusHours(1), Status.APPROVED);
+        persistBooking(now.plusDays(1), now.plusDays(2), Status.WAITING);
+        persistBooking(now.plusDays(2), now.plusDays(3), Status.WAITING);
+
+        List<OwnerItemBookingView> views = bookingRepository.summarizeBookingsOfOwner(item.getOwner().getId(), now);
+
+        assertEquals(2, views.size());
+        OwnerItemBookingView booked = views.get(0);
+        assertEquals(item.getId(), booked.getItemId());
+        assertEquals("item", booked.getItemName());
+        assertEquals(5L, booked.getAllCount());
+        assertEquals(1L, booked.getCurrentCount());
+        assertEquals(2L, booked.getPastCount());
+        assertEquals(2L, booked.getFutureCount());
+        assertEquals(2L, booked.getWaitingCount());
+        assertEquals(1L, booked.getRejectedCount());
+        assertEquals(2L, booked.getApprovedCount());
+        assertEquals(unbooked.getId(), views.get(1).getItemId());
+        assertEquals(0L, views.get(1).getAllCount());
+        assertEquals(0L, views.get(1).getFutureCount());
+    }
+
+    private Booking persistBooking(LocalDateTime start, LocalDateTime end, Status status) {
+        return em.persist(new Booking(null, start, end, item, booker, status));
+    }
+
+    @Test
+    void findPageOfBookerSeeksPastCursorInStartAndIdOrder() {
+        Booking first = persistBooking(now.plusDays(3), now.plusDays(4), Status.WAITING);
+        Booking second = persistBooking(now.plusDays(2), now.plusDays(3), Status.APPROVED);
+        Booking third = persistBooking(now.plusDays(2), now.plusDays(3), Status.WAITING);
+        Booking fourth = persistBooking(now.minusDays(2), now.minusDays(1), Status.APPROVED);
+
+        List<Booking> firstPage = bookingRepository.findPageOfBooker(booker.getId(), State.ALL, now, null, 2);
+        List<Booking> secondPage = bookingRepository.findPageOfBooker(booker.getId(), State.ALL, now,
+                BookingCursor.of(firstPage.get(1)), 2);
+        List<Booking> future = bookingRepository.findPageOfOwner(item.getOwner().getId(), State.FUTURE, now,
+                BookingCursor.of(third), 10);
+
+        assertEquals(List.of(first.getId(), third.getId()), ids(firstPage));
+        assertEquals(List.of(second.getId(), fourth.getId()), ids(secondPage));
+        assertEquals(List.of(second.getId()), ids(future));
+    }
+
+    private static List<Long> ids(List<Booking> bookings) {
+        return bookings.stream().map(Booking::getId).collect(Collectors.toList());
+    }
+}
@@ -11,8 +11,12 @@ import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Sort;
 import ru.practicum.shareit.booking.dto.BookerResponseDto;
+import ru.practicum.shareit.booking.dto.BookingCursor;
+import ru.practicum.shareit.booking.dto.BookingCursorPageDto;
 import ru.practicum.shareit.booking.dto.BookingRequestDto;
 import ru.practicum.shareit.booking.dto.BookingResponseDto;
+import ru.practicum.shareit.booking.dto.BulkBookingResultDto;
+import ru.practicum.shareit.booking.dto.FreeSlotDto;
 import ru.practicum.shareit.booking.dto.ItemResponseDto;
 import ru.practicum.shareit.booking.mapper.BookingMapper;
 import ru.practicum.shareit.booking.model.Booking;
@@ -23,9 +27,12 @@ import ru.practicum.shareit.booking.service.BookingServiceImpl;
 import ru.practicum.shareit.exception.NotFoundException;
 import ru.practicum.shareit.exception.ValidationException;
 import ru.practicum.shareit.item.ItemRepository;
+import ru.practicum.shareit.item.ItemStatsReconciler;
+import ru.practicum.shareit.item.ItemStatsRepository;
 import ru.practicum.shareit.item.model.Item;
 import ru.practicum.shareit.request.ItemRequest;
 import ru.practicum.shareit.user.User;
+import ru.practicum.shareit.user.UserExistenceCache;
 import ru.practicum.shareit.user.UserRepository;
 
 import java.time.LocalDateTime;
@@ -37,6 +44,8 @@ import java.util.Optional;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
 import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
@@ -47,9 +56,15 @@ public class BookingServiceImplTest {
     @Mock
     private UserRepository userRepository;
     @Mock
+    private UserExistenceCache userExistenceCache;
+    @Mock
     private ItemRepository itemRepository;
     @Mock
     private BookingMapper bookingMapper;
+    @Mock
+    private ItemStatsRepository itemStatsRepository;
+    @Mock
+    private ItemStatsReconciler itemStatsReconciler;
     @InjectMocks
     private BookingServiceImpl bookingService;
 
@@ -114,7 +129,7 @@ public class BookingServiceImplTest {
                 Status.WAITING, bookerResponseDto, itemResponseDto);
 
         when(userRepository.findById(bookerId)).thenReturn(Optional.of(booker));
-        when(itemRepository.findById(itemId)).thenReturn(Optional.of(item));
+        when(itemRepository.findByIdForUpdate(itemId)).thenReturn(Optional.of(item));
 
         when(bookingMapper.mapToBooking(bookingRequestDto, item, booker)).thenReturn(booking);
         when(bookingRepository.save(booking)).thenReturn(booking);
@@ -124,6 +139,46 @@ public class BookingServiceImplTest {
 
         assertNotNull(result);
         assertThat(result.getId()).isEqualTo(expected.getId());
+        verify(itemStatsRepository).addBookings(itemId, 1, booking.getStart());
+    }
+
+    @Test
+    void createBookingWhenPeriodOverlapsActiveBookingThrows() {
+        when(userRepository.findById(bookerId)).thenReturn(Optional.of(booker));
+        when(itemRepository.findByIdForUpdate(itemId)).thenReturn(Optional.of(item));
+        when(bookingMapper.mapToBooking(bookingRequestDto, item, booker)).thenReturn(booking);
+        when(bookingRepository.existsByItem_IdAndStatusInAndStartIsBeforeAndEndIsAfter(eq(itemId), anySet(),
+                eq(booking.getEnd()), eq(booking.getStart()))).thenReturn(true);
+
+        assertThrows(ValidationException.class,
+                () -> bookingService.create(bookingRequestDto, bookerId));
+
+        verify(bookingRepository, never()).save(any(Booking.class));
+    }
+
+    @Test
+    void getFreeSlotsReturnsGapsBetweenActiveBookings() {
+        LocalDateTime start = current.plusDays(1);
+        LocalDateTime end = start.plusDays(1);
+        Booking first = new Booking(1L, start.minusHours(1), start.plusHours(2), item, booker, Status.APPROVED);
+        Booking second = new Booking(2L, start.plusHours(4), start.plusHours(6), item, booker, Status.WAITING);
+
+        when(itemRepository.existsById(itemId)).thenReturn(true);
+        when(bookingRepository.findByItem_IdAndStatusInAndStartIsBeforeAndEndIsAfterOrderByStartAsc(eq(itemId),
+                anySet(), eq(end), eq(start))).thenReturn(List.of(first, second));
+
+        List<FreeSlotDto> result = bookingService.getFreeSlots(itemId, start, end);
+
+        assertEquals(List.of(new FreeSlotDto(start.plusHours(2), start.plusHours(4)),
+                new FreeSlotDto(start.plusHours(6), end)), result);
+    }
+
+    @Test
+    void getFreeSlotsWhenItemNotFoundThrows() {
+        when(itemRepository.existsById(itemId)).thenReturn(false);
+
+        assertThrows(NotFoundException.class,
+                () -> bookingService.getFreeSlots(itemId, current, current.plusDays(1)));
     }
 
     @Test
@@ -146,7 +201,7 @@ public class BookingServiceImplTest {
         BookingResponseDto expectedResponse = new BookingResponseDto(booking.getId(), current, current.plusHours(1),
                 Status.REJECTED, bookerResponseDto, itemResponseDto);
 
-        when(bookingRepository.findById(bookingId)).thenReturn(Optional.of(booking));
+        when(bookingRepository.findByIdForUpdate(bookingId)).thenReturn(Optional.of(booking));
         when(bookingRepository.save(any(Booking.class))).thenReturn(booking);
         when(bookingMapper.mapToBookingResponseDto(booking)).thenReturn(expectedResponse);
 
@@ -154,13 +209,87 @@ public class BookingServiceImplTest {
 
         assertEquals(expectedResponse, actualResponse);
         assertEquals(Status.REJECTED, booking.getStatus());
+        verifyNoInteractions(itemStatsRepository);
+    }
+
+    @Test
+    void updateWhenApproveCountsApprovedBooking() {
+        when(bookingRepository.findByIdForUpdate(bookingId)).thenReturn(Optional.of(booking));
+        when(bookingRepository.save(any(Booking.class))).thenReturn(booking);
+
+        bookingService.update(bookingId, userId, true);
+
+        assertEquals(Status.APPROVED, booking.getStatus());
+        verify(itemStatsRepository).addApprovedBookings(itemId, 1);
+    }
+
+    @Test
+    void updateWhenApproveCountedForItemWithStatsDoesNotReconcile() {
+        when(bookingRepository.findByIdForUpdate(bookingId)).thenReturn(Optional.of(booking));
+        when(bookingRepository.save(any(Booking.class))).thenReturn(booking);
+        when(itemStatsRepository.addApprovedBookings(itemId, 1)).thenReturn(1);
+
+        bookingService.update(bookingId, userId, true);
+
+        verifyNoInteractions(itemStatsReconciler);
+    }
+
+    @Test
+    void updateWhenApproveItemWithoutStatsRowReconcilesItem() {
+        when(bookingRepository.findByIdForUpdate(bookingId)).thenReturn(Optional.of(booking));
+        when(bookingRepository.save(any(Booking.class))).thenReturn(booking);
+        when(itemStatsRepository.addApprovedBookings(itemId, 1)).thenReturn(0);
+
+        bookingService.update(bookingId, userId, true);
+
+        verify(itemStatsReconciler).reconcileItem(itemId);
+    }
+
+    @Test
+    void updateWhenApproveRejectedBookingOverlappingActiveBookingThrows() {
+        booking.setStatus(Status.REJECTED);
+        when(bookingRepository.findByIdForUpdate(bookingId)).thenReturn(Optional.of(booking));
+        when(itemRepository.findByIdForUpdate(itemId)).thenReturn(Optional.of(item));
+        when(bookingRepository.existsByItem_IdAndIdNotAndStatusInAndStartIsBeforeAndEndIsAfter(eq(itemId),
+                eq(bookingId), anySet(), eq(booking.getEnd()), eq(booking.getStart()))).thenReturn(true);
+
+        assertThrows(ValidationException.class, () -> bookingService.update(bookingId, userId, true));
+
+        assertEquals(Status.REJECTED, booking.getStatus());
+        verify(bookingRepository, never()).save(any(Booking.class));
+        verifyNoInteractions(itemStatsRepository);
+    }
+
+    @Test
+    void updateWhenApproveRejectedBookingWithFreePeriodApproves() {
+        booking.setStatus(Status.REJECTED);
+        when(bookingRepository.findByIdForUpdate(bookingId)).thenReturn(Optional.of(booking));
+        when(itemRepository.findByIdForUpdate(itemId)).thenReturn(Optional.of(item));
+        when(bookingRepository.save(any(Booking.class))).thenReturn(booking);
+
+        bookingService.update(bookingId, userId, true);
+
+        assertEquals(Status.APPROVED, booking.getStatus());
+        verify(itemStatsRepository).addApprovedBookings(itemId, 1);
+    }
+
+    @Test
+    void updateWhenRejectApprovedBookingUncountsApprovedBooking() {
+        booking.setStatus(Status.APPROVED);
+        when(bookingRepository.findByIdForUpdate(bookingId)).thenReturn(Optional.of(booking));
+        when(bookingRepository.save(any(Booking.class))).thenReturn(booking);
+
+        bookingService.update(bookingId, userId, false);
+
+        assertEquals(Status.REJECTED, booking.getStatus());
+        verify(itemStatsRepository).addApprovedBookings(itemId, -1);
     }
 
     @Test
     void updateWhenRejectAndBookingRejectedThrowValidationException() {
         booking.setStatus(Status.REJECTED);
 
-        when(bookingRepository.findById(bookingId)).thenReturn(Optional.of(booking));
+        when(bookingRepository.findByIdForUpdate(bookingId)).thenReturn(Optional.of(booking));
 
         assertThrows(ValidationException.class,
                 () -> bookingService.update(bookingId, userId, false));
@@ -169,8 +298,6 @@ public class BookingServiceImplTest {
     @Test
     public void getBookingsOfUserWhenStateIsAll() {
 
-        when(userRepository.findById(userId)).thenReturn(Optional.of(user));
-
         PageRequest pageRequest = PageRequest.of(0, size, Sort.by(Sort.Direction.DESC, "start"));
         Page<Booking> mockPage = new PageImpl<>(new ArrayList<>());
         when(bookingRepository.findByBookerId(userId, pageRequest)).thenReturn(mockPage);
@@ -184,8 +311,6 @@ public class BookingServiceImplTest {
     @Test
     public void getBookingsOfUserWhenStateIsCurrent() {
 
-        when(userRepository.findById(userId)).thenReturn(Optional.of(user));
-
         PageRequest pageRequest = PageRequest.of(0, size, Sort.by(Sort.Direction.DESC, "start"));
         Page<Booking> mockPage = new PageImpl<>(new ArrayList<>());
         LocalDateTime now = LocalDateTime.now().truncatedTo(ChronoUnit.SECONDS);
@@ -201,8 +326,6 @@ public class BookingServiceImplTest {
     @Test
     public void getBookingsOfUserWhenStateIsPast() {
 
-        when(userRepository.findById(userId)).thenReturn(Optional.of(user));
-
         PageRequest pageRequest = PageRequest.of(0, size, Sort.by(Sort.Direction.DESC, "start"));
         Page<Booking> mockPage = new PageImpl<>(new ArrayList<>());
         LocalDateTime now = LocalDateTime.now().truncatedTo(ChronoUnit.SECONDS);
@@ -218,8 +341,6 @@ public class BookingServiceImplTest {
     @Test
     public void getBookingsOfUserWhenStateIsFuture() {
 
-        when(userRepository.findById(userId)).thenReturn(Optional.of(user));
-
         PageRequest pageRequest = PageRequest.of(0, size, Sort.by(Sort.Direction.DESC, "start"));
         Page<Booking> mockPage = new PageImpl<>(new ArrayList<>());
         LocalDateTime now = LocalDateTime.now().truncatedTo(ChronoUnit.SECONDS);
@@ -235,8 +356,6 @@ public class BookingServiceImplTest {
     @Test
     public void getBookingsOfUserWhenStateIsWaiting() {
 
-        when(userRepository.findById(userId)).thenReturn(Optional.of(user));
-
         PageRequest pageRequest = PageRequest.of(0, size, Sort.by(Sort.Direction.DESC, "start"));
         Page<Booking> mockPage = new PageImpl<>(new ArrayList<>());
         when(bookingRepository.findByBookerIdAndStatus(
@@ -251,8 +370,6 @@ public class BookingServiceImplTest {
     @Test
     public void getBookingsOfUserWhenStateIsRejected() {
 
-        when(userRepository.findById(userId)).thenReturn(Optional.of(user));
-
         PageRequest pageRequest = PageRequest.of(0, size, Sort.by(Sort.Direction.DESC, "start"));
         Page<Booking> mockPage = new PageImpl<>(new ArrayList<>());
         when(bookingRepository.findByBookerIdAndStatus(
@@ -267,8 +384,6 @@ public class BookingServiceImplTest {
     @Test
     public void getBookingsOfOwnerWhenStateIsAll() {
 
-        when(userRepository.findById(userId)).thenReturn(Optional.of(user));
-
         PageRequest pageRequest = PageRequest.of(0, size, Sort.by(Sort.Direction.DESC, "start"));
         Page<Booking> mockPage = new PageImpl<>(new ArrayList<>());
         when(bookingRepository.findByItem_Owner_Id(userId, pageRequest)).thenReturn(mockPage);
@@ -282,8 +397,6 @@ public class BookingServiceImplTest {
     @Test
     public void getBookingsOfOwnerWhenStateIsCurrent() {
 
-        when(userRepository.findById(userId)).thenReturn(Optional.of(user));
-
         PageRequest pageRequest = PageRequest.of(0, size, Sort.by(Sort.Direction.DESC, "start"));
         Page<Booking> mockPage = new PageImpl<>(new ArrayList<>());
         LocalDateTime now = LocalDateTime.now().truncatedTo(ChronoUnit.SECONDS);
@@ -298,8 +411,6 @@ public class BookingServiceImplTest {
     @Test
     public void getBookingsOfOwnerWhenStateIsPast() {
 
-        when(userRepository.findById(userId)).thenReturn(Optional.of(user));
-
         PageRequest pageRequest = PageRequest.of(0, size, Sort.by(Sort.Direction.DESC, "start"));
         Page<Booking> mockPage = new PageImpl<>(new ArrayList<>());
         LocalDateTime now = LocalDateTime.now().truncatedTo(ChronoUnit.SECONDS);
@@ -314,8 +425,6 @@ public class BookingServiceImplTest {
     @Test
     public void getBookingsOfOwnerWhenStateIsFuture() {
 
-        when(userRepository.findById(userId)).thenReturn(Optional.of(user));
-
         PageRequest pageRequest = PageRequest.of(0, size, Sort.by(Sort.Direction.DESC, "start"));
         Page<Booking> mockPage = new PageImpl<>(new ArrayList<>());
         LocalDateTime now = LocalDateTime.now().truncatedTo(ChronoUnit.SECONDS);
@@ -330,8 +439,6 @@ public class BookingServiceImplTest {
     @Test
     public void getBookingsOfOwnerWhenStateIsWaiting() {
 
-        when(userRepository.findById(userId)).thenReturn(Optional.of(user));
-
         PageRequest pageRequest = PageRequest.of(0, size, Sort.by(Sort.Direction.DESC, "start"));
         Page<Booking> mockPage = new PageImpl<>(new ArrayList<>());
         LocalDateTime now = LocalDateTime.now().truncatedTo(ChronoUnit.SECONDS);
@@ -346,8 +453,6 @@ public class BookingServiceImplTest {
     @Test
     public void getBookingsOfOwnerWhenStateIsRejected() {
 
-        when(userRepository.findById(userId)).thenReturn(Optional.of(user));
-
         PageRequest pageRequest = PageRequest.of(0, size, Sort.by(Sort.Direction.DESC, "start"));
         Page<Booking> mockPage = new PageImpl<>(new ArrayList<>());
         LocalDateTime now = LocalDateTime.now().truncatedTo(ChronoUnit.SECONDS);
@@ -358,4 +463,74 @@ public class BookingServiceImplTest {
         assertNotNull(result);
         assertEquals(0, result.size());
     }
-}
\ No newline at end of file
+
+    @Test
+    public void getBookingsOfUserAfterReturnsNextCursorWhenMoreRowsExist() {
+        Booking older = new Booking(6L, current.minusDays(1), current, item, booker, Status.APPROVED);
+        when(bookingRepository.findPageOfBooker(eq(userId), eq(State.ALL), any(), isNull(), eq(2)))
+                .thenReturn(List.of(booking, older));
+        when(bookingMapper.mapToBookingResponseDto(booking)).thenReturn(bookingResponseDto);
+
+        BookingCursorPageDto result = bookingService.getBookingsOfUserAfter(userId, State.ALL, "", 1);
+
+        assertEquals(List.of(bookingResponseDto), result.getBookings());
+        BookingCursor next = BookingCursor.decode(result.getNextCursor());
+        assertEquals(booking.getStart(), next.getStart());
+        assertEquals(booking.getId(), next.getId());
+    }
+
+    @Test
+    public void getBookingsOfUserAfterRejectsPageAboveLimit() {
+        assertThrows(ValidationException.class,
+                () -> bookingService.getBookingsOfUserAfter(userId, State.ALL, "", Integer.MAX_VALUE));
+        verifyNoInteractions(bookingRepository);
+    }
+
+    @Test
+    public void getBookingsOfOwnerAfterReturnsNoCursorOnLastPage() {
+        String cursor = new BookingCursor(current.plusDays(1), 9L).encode();
+        when(bookingRepository.findPageOfOwner(eq(userId), eq(State.FUTURE), any(), any(BookingCursor.class), eq(11)))
+                .thenReturn(List.of(booking));
+        when(bookingMapper.mapToBookingResponseDto(booking)).thenReturn(bookingResponseDto);
+
+        BookingCursorPageDto result = bookingService.getBookingsOfOwnerAfter(userId, State.FUTURE, cursor, size);
+
+        assertEquals(1, result.getBookings().size());
+        assertNull(result.getNextCursor());
+    }
+
+    @Test
+    public void getBookingsOfUserAfterWhenCursorMalformedThrowValidationException() {
+        assertThrows(ValidationException.class,
+                () -> bookingService.getBookingsOfUserAfter(userId, State.ALL, "not-a-cursor", size));
+    }
+
+    @Test
+    void createAllReportsResultPerEntry() {
+        LocalDateTime start = current.plusDays(1);
+        List<BookingRequestDto> requests = List.of(
+                new BookingRequestDto(itemId, start, start.plusHours(2)),
+                new BookingRequestDto(itemId, start.plusHours(1), start.plusHours(3)),
+                new BookingRequestDto(99L, start, start.plusHours(1)),
+                new BookingRequestDto(itemId, start.plusDays(1), start));
+        when(userRepository.findById(bookerId)).thenReturn(Optional.of(booker));
+        when(itemRepository.findAllByIdInForUpdate(any())).thenReturn(List.of(item));
+        when(bookingRepository.findByItem_IdInAndStatusInAndStartIsBeforeAndEndIsAfter(any(), any(), any(), any()))
+                .thenReturn(List.of());
+        when(bookingMapper.mapToBooking(any(), any(), any())).thenAnswer(invocation ->
+                new BookingMapper().mapToBooking(invocation.getArgument(0), invocation.getArgument(1),
+                        invocation.getArgument(2)));
+        when(bookingMapper.mapToBookingResponseDto(any())).thenReturn(bookingResponseDto);
+
+        List<BulkBookingResultDto> results = bookingService.createAll(requests, bookerId);
+
+        assertEquals(bookingResponseDto, results.get(0).getBooking());
+        assertNull(results.get(0).getError());
+        assertEquals("Item is already booked for the requested period", results.get(1).getError());
+        assertEquals("Item not found", results.get(2).getError());
+        assertEquals("End of the booking must be after its start", results.get(3).getError());
+        verify(bookingRepository).saveAll(argThat((List<Booking> bookings) -> bookings.size() == 1));
+        verify(itemStatsRepository).addBookings(itemId, 1, start);
+        verifyNoMoreInteractions(itemStatsRepository);
+    }
+}
@@ -0,0 +1,122 @@
+package ru.practicum.shareit.booking;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.annotation.Transactional;
+import ru.practicum.shareit.booking.dto.BookingRequestDto;
+import ru.practicum.shareit.booking.dto.BookingResponseDto;
+import ru.practicum.shareit.booking.dto.BulkBookingResultDto;
+import ru.practicum.shareit.booking.dto.OwnerBookingSummaryDto;
+import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.model.State;
+import ru.practicum.shareit.booking.model.Status;
+import ru.practicum.shareit.booking.service.BookingService;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.model.ItemStats;
+import ru.practicum.shareit.user.User;
+
+import javax.persistence.EntityManager;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static ru.practicum.shareit.metrics.StatementCountAssertions.assertMaxStatements;
+
+@SpringBootTest
+@Transactional
+public class BookingServiceQueryCountTest {
+    private static final int BOOKINGS = 5;
+
+    @Autowired
+    private EntityManager em;
+    @Autowired
+    private BookingService bookingService;
+
+    private User owner;
+    private User booker;
+    private Item item;
+
+    @BeforeEach
+    void setUp() {
+        owner = persist(new User(null, "owner", "owner@mail.ru"));
+        booker = persist(new User(null, "booker", "booker@mail.ru"));
+        LocalDateTime start = LocalDateTime.now().plusDays(1);
+        for (int i = 0; i < BOOKINGS; i++) {
+            item = persist(Item.builder()
+                    .name("item" + i)
+                    .description("description" + i)
+                    .available(true)
+                    .owner(owner)
+                    .bookings(new ArrayList<>())
+                    .build());
+            persist(ItemStats.builder().item(item).bookingCount(1).lastBookedAt(start.plusDays(i)).build());
+            persist(new Booking(null, start.plusDays(i), start.plusDays(i + 1), item, booker, Status.WAITING));
+        }
+        em.flush();
+        em.clear();
+    }
+
+    @Test
+    void getBookingsOfUserDoesNotLoadItemsOneByOne() {
+        List<BookingResponseDto> bookings = assertMaxStatements(3,
+                () -> bookingService.getBookingsOfUser(booker.getId(), State.ALL, 0, 10));
+
+        assertEquals(BOOKINGS, bookings.size());
+    }
+
+    @Test
+    void getBookingsOfOwnerDoesNotLoadBookersOneByOne() {
+        List<BookingResponseDto> bookings = assertMaxStatements(3,
+                () -> bookingService.getBookingsOfOwner(owner.getId(), State.FUTURE, 0, 10));
+
+        assertEquals(BOOKINGS, bookings.size());
+    }
+
+    @Test
+    void getBookingsOfUserDoesNotCountWhenPageIsFull() {
+        List<BookingResponseDto> bookings = assertMaxStatements(2,
+                () -> bookingService.getBookingsOfUser(booker.getId(), State.ALL, 2, 2));
+
+        assertEquals(2, bookings.size());
+    }
+
+    @Test
+    void getOwnerSummaryCountsAllStatesInOneQuery() {
+        OwnerBookingSummaryDto summary = assertMaxStatements(2, () -> bookingService.getOwnerSummary(owner.getId()));
+
+        assertEquals(BOOKINGS, summary.getItems().size());
+        assertEquals((long) BOOKINGS, summary.getCounts().get(State.ALL));
+        assertEquals((long) BOOKINGS, summary.getCounts().get(State.FUTURE));
+        assertEquals((long) BOOKINGS, summary.getCounts().get(State.WAITING));
+        assertEquals(0L, summary.getCounts().get(State.PAST));
+    }
+
+    @Test
+    void createAllInsertsBookingsInOneBatch() {
+        LocalDateTime start = LocalDateTime.now().plusYears(1);
+        List<BookingRequestDto> requests = IntStream.range(0, 10)
+                .mapToObj(i -> new BookingRequestDto(item.getId(), start.plusDays(i), start.plusDays(i).plusHours(1)))
+                .collect(Collectors.toList());
+
+        // the batched insert plus one item_stats update, not one per booking
+        List<BulkBookingResultDto> results = assertMaxStatements(6, () -> {
+            List<BulkBookingResultDto> created = bookingService.createAll(requests, booker.getId());
+            em.flush();
+            return created;
+        });
+
+        assertEquals(10, results.size());
+        assertTrue(results.stream().allMatch(result -> result.getError() == null));
+    }
+
+    private <T> T persist(T entity) {
+        em.persist(entity);
+        return entity;
+    }
+}
@@ -44,7 +44,7 @@ public class CommentMapperTest {
                 .build();
         user = new User(userId, "user", "user@mail.ru");
         item = new Item(itemId, user, "name", "description", true, itemRequest, null);
-        itemDto = new ItemDto(itemId, user.getId(), "name", "description", true, itemRequest.getId(), null, null, null);
+        itemDto = new ItemDto(itemId, user.getId(), "name", "description", true, itemRequest.getId(), null, null, null, null);
         comment = new Comment(commentId, "comment", item, user, LocalDateTime.now());
         commentRequest = new CommentRequest("comment", userId, itemId);
     }
@@ -6,13 +6,18 @@ import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.PageRequest;
 import ru.practicum.shareit.booking.model.Booking;
 import ru.practicum.shareit.booking.model.Status;
 import ru.practicum.shareit.exception.NotFoundException;
 import ru.practicum.shareit.exception.ValidationException;
+import ru.practicum.shareit.item.dto.CommentCursor;
+import ru.practicum.shareit.item.dto.CommentCursorPageDto;
 import ru.practicum.shareit.item.dto.CommentRequest;
 import ru.practicum.shareit.item.dto.CommentResponse;
+import ru.practicum.shareit.item.dto.ItemCommentView;
 import ru.practicum.shareit.item.dto.ItemDto;
 import ru.practicum.shareit.item.model.Comment;
 import ru.practicum.shareit.item.model.Item;
@@ -20,6 +25,7 @@ import ru.practicum.shareit.request.ItemRequest;
 import ru.practicum.shareit.user.User;
 import ru.practicum.shareit.user.UserRepository;
 
+import java.time.Duration;
 import java.time.LocalDateTime;
 import java.util.*;
 import java.util.stream.Collectors;
@@ -46,6 +52,15 @@ public class CommentServiceTest {
     @Mock
     private CommentMapper commentMapper;
 
+    @Mock
+    private ItemStatsRepository itemStatsRepository;
+
+    @Mock
+    private ItemStatsReconciler itemStatsReconciler;
+
+    @Spy
+    private ItemDetailsCache itemDetailsCache = new ItemDetailsCache(100, Duration.ofMinutes(1));
+
     private Long userId;
     private Long itemId;
     private Long bookerId;
@@ -84,76 +99,106 @@ public class CommentServiceTest {
         bookings = new ArrayList<>();
         booking = new Booking(bookingId, current.minusHours(2), current.minusHours(1), item, user, Status.APPROVED);
         item = new Item(itemId, user, "name", "description", true, itemRequest, bookings);
-        itemDto = new ItemDto(itemId, user.getId(), "name", "description", true, itemRequest.getId(), null, null, null);
+        itemDto = new ItemDto(itemId, user.getId(), "name", "description", true, itemRequest.getId(), null, null, null, null);
         comment = new Comment(commentId, "comment", item, user, LocalDateTime.now());
         commentRequest = new CommentRequest("comment", userId, itemId);
         commentResponse = new CommentResponse(commentId, "comment", user.getName(), current);
     }
 
     @Test
-    void getItemIdToCommentsWhenNoCommentsReturnsEmptyMap() {
-        when(commentRepository.findAllByItem_IdIn(Set.of(1L)))
+    void getItemIdToLatestCommentsWhenNoCommentsReturnsEmptyMap() {
+        when(commentRepository.findLatestOfItems(Set.of(1L), 10))
                 .thenReturn(Collections.emptyList());
 
-        Map<Long, List<CommentResponse>> itemIdToComments = commentService.getItemIdToComments(Set.of(1L));
+        Map<Long, List<CommentResponse>> itemIdToComments = commentService.getItemIdToLatestComments(Set.of(1L), 10);
 
         assertThat(itemIdToComments).isEmpty();
     }
 
     @Test
-    void getCommentsOfItemReturnsListOfComments() {
-
-        List<Comment> comments = new ArrayList<>();
-        comments.add(new Comment(1L, "Comment 1", item, user, LocalDateTime.now()));
-        comments.add(new Comment(2L, "Comment 2", item, user, LocalDateTime.now()));
+    void getLatestCommentsOfItemReturnsListOfComments() {
+        List<CommentResponse> expectedResponses = List.of(
+                new CommentResponse(2L, "Comment 2", user.getName(), current),
+                new CommentResponse(1L, "Comment 1", user.getName(), current.minusHours(1)));
 
-        List<CommentResponse> expectedResponses = comments.stream()
-                .map(comment -> new CommentResponse(comment.getId(), comment.getText(), user.getName(), comment.getCreated()))
-                .collect(Collectors.toList());
+        when(commentRepository.findLatestOfItem(itemId, PageRequest.of(0, 10))).thenReturn(expectedResponses);
 
-        when(commentRepository.findAllByItem_Id(itemId)).thenReturn(comments);
-        when(commentMapper.mapToDto(any(Comment.class))).thenAnswer(invocation -> {
-            Comment comment = invocation.getArgument(0);
-            return new CommentResponse(comment.getId(), comment.getText(), user.getName(), comment.getCreated());
-        });
-
-        List<CommentResponse> actualResponses = commentService.getCommentsOfItem(itemId);
+        List<CommentResponse> actualResponses = commentService.getLatestCommentsOfItem(itemId, 10);
 
         Java6Assertions.assertThat(actualResponses).isEqualTo(expectedResponses);
     }
 
     @Test
-    void getItemIdToCommentsReturnsMapOfItemIdToComments() {
+    void getItemIdToLatestCommentsReturnsMapOfItemIdToComments() {
         Set<Long> itemIds = new HashSet<>(Arrays.asList(1L, 2L));
 
-        Item item1 = new Item(1L, user, "Item 1", "Description 1", true, itemRequest, new ArrayList<>());
-        Item item2 = new Item(2L, user, "Item 2", "Description 2", true, itemRequest, new ArrayList<>());
-
-        List<Comment> comments = new ArrayList<>();
-        comments.add(new Comment(1L, "Comment 1 for Item 1", item1, user, LocalDateTime.now()));
-        comments.add(new Comment(2L, "Comment 2 for Item 1", item1, user, LocalDateTime.now()));
-        comments.add(new Comment(3L, "Comment 1 for Item 2", item2, user, LocalDateTime.now()));
-
-        Map<Long, List<Comment>> expectedCommentsMap = comments.stream()
-                .collect(Collectors.groupingBy(comment -> comment.getItem().getId()));
-
-        Map<Long, List<CommentResponse>> expectedResponsesMap = expectedCommentsMap.entrySet().stream()
-                .collect(Collectors.toMap(
-                        Map.Entry::getKey,
-                        entry -> entry.getValue().stream()
-                                .map(comment -> new CommentResponse(comment.getId(), comment.getText(), user.getName(), comment.getCreated()))
-                                .collect(Collectors.toList())
-                ));
-
-        when(commentRepository.findAllByItem_IdIn(itemIds)).thenReturn(comments);
-        when(commentMapper.mapToDto(any(Comment.class))).thenAnswer(invocation -> {
-            Comment comment = invocation.getArgument(0);
-            return new CommentResponse(comment.getId(), comment.getText(), user.getName(), comment.getCreated());
+        List<ItemCommentView> views = List.of(commentView(1L, 1L), commentView(1L, 2L), commentView(2L, 3L));
+        when(commentRepository.findLatestOfItems(itemIds, 10)).thenReturn(views);
+        when(commentMapper.mapToDto(any(ItemCommentView.class))).thenAnswer(invocation -> {
+            ItemCommentView view = invocation.getArgument(0);
+            return new CommentResponse(view.getId(), "comment", user.getName(), current);
         });
 
-        Map<Long, List<CommentResponse>> actualResponsesMap = commentService.getItemIdToComments(itemIds);
+        Map<Long, List<CommentResponse>> actualResponsesMap = commentService.getItemIdToLatestComments(itemIds, 10);
+
+        assertThat(actualResponsesMap).isEqualTo(Map.of(
+                1L, List.of(new CommentResponse(1L, "comment", user.getName(), current),
+                        new CommentResponse(2L, "comment", user.getName(), current)),
+                2L, List.of(new CommentResponse(3L, "comment", user.getName(), current))));
+    }
+
+    @Test
+    void getCommentsOfItemAfterReturnsNextCursorWhenMoreCommentsExist() {
+        List<CommentResponse> comments = List.of(
+                new CommentResponse(3L, "third", user.getName(), current),
+                new CommentResponse(2L, "second", user.getName(), current.minusHours(1)),
+                new CommentResponse(1L, "first", user.getName(), current.minusHours(2)));
+        when(itemRepository.existsById(itemId)).thenReturn(true);
+        when(commentRepository.findLatestOfItem(itemId, PageRequest.of(0, 3))).thenReturn(comments);
+
+        CommentCursorPageDto page = commentService.getCommentsOfItemAfter(itemId, null, 2);
+
+        assertEquals(comments.subList(0, 2), page.getComments());
+        CommentCursor next = CommentCursor.decode(page.getNextCursor());
+        assertEquals(current.minusHours(1), next.getCreated());
+        assertEquals(2L, next.getId());
+    }
+
+    @Test
+    void getCommentsOfItemAfterCursorReadsOlderComments() {
+        CommentCursor cursor = new CommentCursor(current, 3L);
+        List<CommentResponse> comments = List.of(new CommentResponse(2L, "second", user.getName(), current));
+        when(itemRepository.existsById(itemId)).thenReturn(true);
+        when(commentRepository.findOfItemBefore(itemId, current, 3L, PageRequest.of(0, 3))).thenReturn(comments);
+
+        CommentCursorPageDto page = commentService.getCommentsOfItemAfter(itemId, cursor.encode(), 2);
+
+        assertEquals(comments, page.getComments());
+        assertNull(page.getNextCursor());
+    }
+
+    @Test
+    void getCommentsOfItemAfterThrowsIfItemNotFound() {
+        when(itemRepository.existsById(itemId)).thenReturn(false);
+
+        assertThrows(NotFoundException.class, () -> commentService.getCommentsOfItemAfter(itemId, null, 10));
+        verifyNoInteractions(commentRepository);
+    }
+
+    @Test
+    void getCommentsOfItemAfterRejectsPageAboveLimit() {
+        when(itemRepository.existsById(itemId)).thenReturn(true);
+
+        assertThrows(ValidationException.class,
+                () -> commentService.getCommentsOfItemAfter(itemId, null, Integer.MAX_VALUE));
+        verifyNoInteractions(commentRepository);
+    }
+
+    @Test
+    void getCommentsOfItemAfterRejectsMalformedCursor() {
+        when(itemRepository.existsById(itemId)).thenReturn(true);
 
-        assertThat(actualResponsesMap).isEqualTo(expectedResponsesMap);
+        assertThrows(ValidationException.class, () -> commentService.getCommentsOfItemAfter(itemId, "%%%", 10));
     }
 
     @Test
@@ -196,6 +241,35 @@ public class CommentServiceTest {
         CommentResponse actual = commentService.saveComment(commentRequest, user.getId(), item.getId());
 
         assertThat(actual).isEqualTo(commentResponse);
+        verify(itemStatsRepository).incrementCommentCount(item.getId());
+    }
+
+    @Test
+    void saveCommentCountedForItemWithStatsDoesNotReconcile() {
+        bookings.add(booking);
+        when(userRepository.findById(userId)).thenReturn(Optional.of(user));
+        when(itemRepository.findItemByIdWithBookingsFetched(itemId)).thenReturn(Optional.of(item));
+        when(commentMapper.mapToComment(commentRequest, user, item)).thenReturn(comment);
+        when(commentRepository.save(comment)).thenReturn(comment);
+        when(itemStatsRepository.incrementCommentCount(itemId)).thenReturn(1);
+
+        commentService.saveComment(commentRequest, userId, itemId);
+
+        verifyNoInteractions(itemStatsReconciler);
+    }
+
+    @Test
+    void saveCommentForItemWithoutStatsRowReconcilesItem() {
+        bookings.add(booking);
+        when(userRepository.findById(userId)).thenReturn(Optional.of(user));
+        when(itemRepository.findItemByIdWithBookingsFetched(itemId)).thenReturn(Optional.of(item));
+        when(commentMapper.mapToComment(commentRequest, user, item)).thenReturn(comment);
+        when(commentRepository.save(comment)).thenReturn(comment);
+        when(itemStatsRepository.incrementCommentCount(itemId)).thenReturn(0);
+
+        commentService.saveComment(commentRequest, userId, itemId);
+
+        verify(itemStatsReconciler).reconcileItem(itemId);
     }
 
     @Test
@@ -245,4 +319,11 @@ public class CommentServiceTest {
         assertEquals("User with ID=%d cannot post comment to item with ID=%d because the user never booked the item.",
                 exception.getMessage());
     }
+
+    private static ItemCommentView commentView(Long itemId, Long id) {
+        ItemCommentView view = mock(ItemCommentView.class);
+        when(view.getItemId()).thenReturn(itemId);
+        lenient().when(view.getId()).thenReturn(id);
+        return view;
+    }
 }
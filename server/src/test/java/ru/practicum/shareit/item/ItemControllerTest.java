@@ -8,6 +8,7 @@ import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
+import ru.practicum.shareit.item.dto.CommentCursorPageDto;
 import ru.practicum.shareit.item.dto.CommentRequest;
 import ru.practicum.shareit.item.dto.CommentResponse;
 import ru.practicum.shareit.item.dto.ItemDto;
@@ -50,7 +51,7 @@ public class ItemControllerTest {
     private ItemRequest request = new ItemRequest(1L, "item request description", requester,
             LocalDateTime.of(2022, 1, 2, 3, 4, 5));
     private ItemDto itemDto = new ItemDto(1L, owner.getId(), "item", "item description",
-            true, request.getId(), null, null, null);
+            true, request.getId(), null, null, null, null);
     private CommentResponse commentResponse = new CommentResponse(1L, "Text comment",
             owner.getName(), LocalDateTime.of(2022, 3, 5, 1, 2, 3));
     private CommentRequest commentRequest = new CommentRequest("Text comment", owner.getId(), itemDto.getId());
@@ -191,4 +192,15 @@ public class ItemControllerTest {
                 .andExpect(jsonPath("$.created",
                         is(commentResponse.getCreated().format(DateTimeFormatter.ISO_LOCAL_DATE_TIME))));
     }
+
+    @Test
+    void getCommentsAfterCursor() throws Exception {
+        when(commentService.getCommentsOfItemAfter(1L, "abc", 1))
+                .thenReturn(new CommentCursorPageDto(List.of(commentResponse), "def"));
+        mvc.perform(get("/items/1/comments?cursor=abc&size=1")
+                        .accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.comments[0].id", is(commentResponse.getId()), Long.class))
+                .andExpect(jsonPath("$.nextCursor", is("def")));
+    }
 }
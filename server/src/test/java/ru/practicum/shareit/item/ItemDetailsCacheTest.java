@@ -0,0 +1,50 @@
+package ru.practicum.shareit.item;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import ru.practicum.shareit.item.dto.CommentResponse;
+import ru.practicum.shareit.item.dto.ItemDto;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+public class ItemDetailsCacheTest {
+
+    private ItemDetailsCache cache;
+    private AtomicInteger loads;
+
+    @BeforeEach
+    void setUp() {
+        cache = new ItemDetailsCache(100, Duration.ofMinutes(1));
+        loads = new AtomicInteger();
+    }
+
+    @Test
+    void evictOwnedOrCommentedByKeepsUnrelatedItems() {
+        load(1L, 1L, "other");
+        load(2L, 2L, "user");
+        load(3L, 2L, "other");
+
+        cache.evictOwnedOrCommentedBy(1L, "user");
+        load(1L, 1L, "other");
+        load(2L, 2L, "user");
+        load(3L, 2L, "other");
+
+        assertEquals(5, loads.get());
+    }
+
+    private void load(Long itemId, Long ownerId, String authorName) {
+        cache.get(itemId, id -> {
+            loads.incrementAndGet();
+            return ItemDto.builder()
+                    .id(id)
+                    .ownerId(ownerId)
+                    .comments(List.of(new CommentResponse(id, "text", authorName, LocalDateTime.now())))
+                    .build();
+        });
+    }
+}
@@ -2,14 +2,18 @@ package ru.practicum.shareit.item;
 
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
+import ru.practicum.shareit.item.dto.ItemDetailsView;
 import ru.practicum.shareit.item.dto.ItemDto;
 import ru.practicum.shareit.item.model.Item;
 import ru.practicum.shareit.request.ItemRequest;
 import ru.practicum.shareit.user.User;
 
 import java.time.LocalDateTime;
+import java.util.List;
 
 import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
 
 public class ItemMapperTest {
 
@@ -35,7 +39,7 @@ public class ItemMapperTest {
                 .build();
         user = new User(userId, "user", "user@mail.ru");
         item = new Item(itemId, user, "name", "description", true, itemRequest, null);
-        itemDto = new ItemDto(itemId, user.getId(), "name", "description", true, itemRequest.getId(), null, null, null);
+        itemDto = new ItemDto(itemId, user.getId(), "name", "description", true, itemRequest.getId(), null, null, null, null);
     }
 
     @Test
@@ -63,4 +67,23 @@ public class ItemMapperTest {
         assertEquals(user, item.getOwner());
         assertTrue(item.getAvailable());
     }
+
+    @Test
+    public void testMapDetailsToDtoDefaultsMissingCommentCountToZero() {
+        ItemDetailsView details = mock(ItemDetailsView.class);
+        when(details.getId()).thenReturn(itemId);
+        when(details.getOwnerId()).thenReturn(userId);
+        when(details.getName()).thenReturn("name");
+        when(details.getRequestId()).thenReturn(requestId);
+        when(details.getCommentCount()).thenReturn(null);
+
+        ItemDto itemDto = itemMapper.mapDetailsToDto(details, List.of());
+
+        assertEquals(itemId, itemDto.getId());
+        assertEquals(userId, itemDto.getOwnerId());
+        assertEquals("name", itemDto.getName());
+        assertEquals(requestId, itemDto.getRequestId());
+        assertTrue(itemDto.getComments().isEmpty());
+        assertEquals(0L, itemDto.getCommentCount());
+    }
 }
@@ -6,11 +6,14 @@ import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Sort;
 import ru.practicum.shareit.booking.model.Booking;
 import ru.practicum.shareit.booking.model.Status;
+import ru.practicum.shareit.item.dto.ItemDetailsView;
 import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.model.ItemStats;
 import ru.practicum.shareit.request.ItemRequest;
 import ru.practicum.shareit.user.User;
 
@@ -18,14 +21,18 @@ import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Collectors;
 
 
-@DataJpaTest
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.session_factory.statement_inspector=" +
+        "ru.practicum.shareit.item.RecordingStatementInspector")
 @RequiredArgsConstructor(onConstructor_ = @Autowired)
 public class ItemRepositoryTest {
 
     @Autowired
     private final ItemRepository itemRepository;
+    @Autowired
+    private final TestEntityManager em;
     private User user;
     private ItemRequest itemRequest;
     private Item item;
@@ -44,22 +51,85 @@ public class ItemRepositoryTest {
     }
 
     @Test
-    void searchAllItemFetchOwnerByQuery() {
-        PageRequest pageRequest = PageRequest.of(1, 2, Sort.by(Sort.Direction.ASC, "name"));
-        List<Item> items = itemRepository.searchAllItemFetchOwnerByQuery("item", pageRequest);
-        Assertions.assertNotNull(items);
+    void findItemByIdWithBookingsFetched() {
+        Optional<Item> item = itemRepository.findItemByIdWithBookingsFetched(user.getId());
+        Assertions.assertNotNull(item);
     }
 
     @Test
-    void findAllByOwnerIdFetchBookings() {
-        PageRequest pageRequest = PageRequest.of(1, 2, Sort.by(Sort.Direction.ASC, "name"));
-        List<Item> items = itemRepository.findAllByOwnerIdFetchBookings(user.getId(), pageRequest);
+    void findAllByRequestIdIn() {
+        List<Item> items = itemRepository.findAllByRequestIdIn(List.of(itemRequest.getId()));
         Assertions.assertNotNull(items);
     }
 
     @Test
-    void findItemByIdWithBookingsFetched() {
-        Optional<Item> item = itemRepository.findItemByIdWithBookingsFetched(user.getId());
-        Assertions.assertNotNull(item);
+    void findAllByOwnerIdPagesInTheDatabase() {
+        User owner = em.persist(new User(null, "pager", "pager@user.ru"));
+        for (String name : List.of("c", "a", "b")) {
+            em.persist(new Item(null, owner, name, "description", true, null, new ArrayList<>()));
+        }
+        em.flush();
+        em.clear();
+        RecordingStatementInspector.clear();
+
+        List<Item> items = itemRepository.findAllByOwner_Id(owner.getId(), PageRequest.of(0, 2, Sort.by("name")));
+
+        // the page is cut by the select itself, not in memory after loading every item of the owner (HHH000104)
+        List<String> statements = RecordingStatementInspector.getStatements();
+        Assertions.assertEquals(1, statements.size());
+        Assertions.assertTrue(statements.get(0).toLowerCase().contains(" limit "), statements.get(0));
+        Assertions.assertEquals(List.of("a", "b"), items.stream().map(Item::getName).collect(Collectors.toList()));
+    }
+
+    @Test
+    void searchAvailableItemsRankedByNameMatchRanksNameMatchesFirst() {
+        User owner = em.persist(new User(null, "searcher", "searcher@user.ru"));
+        em.persist(new Item(null, owner, "Щётка", "Аккумуляторная дрель в подарок", true, null, new ArrayList<>()));
+        em.persist(new Item(null, owner, "Дрель", "Простая", true, null, new ArrayList<>()));
+        em.persist(new Item(null, owner, "Дрель+", "Недоступная", false, null, new ArrayList<>()));
+        em.flush();
+
+        List<Item> items = itemRepository.searchAvailableItemsRankedByNameMatch("дРелЬ", PageRequest.of(0, 10));
+
+        Assertions.assertEquals(List.of("Дрель", "Щётка"),
+                items.stream().map(Item::getName).collect(Collectors.toList()));
+    }
+
+    @Test
+    void findItemDetailsReadsItemWithCommentCountInOneStatement() {
+        User owner = em.persist(new User(null, "details", "details@user.ru"));
+        Item saved = em.persist(new Item(null, owner, "item", "description", true, null, new ArrayList<>()));
+        Item withoutStats = em.persist(new Item(null, owner, "other", "description", true, null, new ArrayList<>()));
+        em.persist(ItemStats.builder().item(saved).commentCount(2).build());
+        em.flush();
+        em.clear();
+        RecordingStatementInspector.clear();
+
+        ItemDetailsView details = itemRepository.findItemDetails(saved.getId()).orElseThrow();
+
+        Assertions.assertEquals(1, RecordingStatementInspector.getStatements().size());
+        Assertions.assertEquals(owner.getId(), details.getOwnerId());
+        Assertions.assertEquals(2L, details.getCommentCount());
+        Assertions.assertNull(itemRepository.findItemDetails(withoutStats.getId()).orElseThrow().getCommentCount());
+        Assertions.assertTrue(itemRepository.findItemDetails(-1L).isEmpty());
+    }
+
+    @Test
+    void itemInsertedWithoutIdDoesNotCollideWithJpaIds() {
+        User owner = em.persist(new User(null, "plain", "plain@user.ru"));
+        Item persisted = em.persist(new Item(null, owner, "jpa", "description", true, null, new ArrayList<>()));
+        em.flush();
+
+        em.getEntityManager().createNativeQuery("insert into items (name, description, is_available, owner_id) " +
+                        "values ('plain', 'description', true, :ownerId)")
+                .setParameter("ownerId", owner.getId())
+                .executeUpdate();
+
+        List<Long> ids = itemRepository.findAll().stream()
+                .filter(item -> owner.equals(item.getOwner()))
+                .map(Item::getId)
+                .collect(Collectors.toList());
+        Assertions.assertEquals(2, ids.size());
+        Assertions.assertTrue(ids.contains(persisted.getId()));
     }
 }
@@ -5,14 +5,18 @@ import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Sort;
+import ru.practicum.shareit.booking.dto.ItemBookingView;
 import ru.practicum.shareit.booking.model.Booking;
 import ru.practicum.shareit.booking.model.Status;
+import ru.practicum.shareit.booking.repository.BookingRepository;
 import ru.practicum.shareit.exception.NotFoundException;
 import ru.practicum.shareit.item.dto.BookingResponseDto;
 import ru.practicum.shareit.item.dto.CommentResponse;
+import ru.practicum.shareit.item.dto.ItemDetailsView;
 import ru.practicum.shareit.item.dto.ItemDto;
 import ru.practicum.shareit.item.model.Item;
 import ru.practicum.shareit.request.ItemRequest;
@@ -21,6 +25,7 @@ import ru.practicum.shareit.user.User;
 import ru.practicum.shareit.user.UserRepository;
 import ru.practicum.shareit.user.dto.UserDto;
 
+import java.time.Duration;
 import java.time.LocalDateTime;
 import java.util.*;
 
@@ -47,9 +52,21 @@ public class ItemServiceImplTest {
     @Mock
     CommentService commentService;
 
+    @Mock
+    BookingRepository bookingRepository;
+
+    @Mock
+    ItemSearchEngine itemSearchEngine;
+
+    @Mock
+    ItemStatsRepository itemStatsRepository;
+
     @InjectMocks
     ItemServiceImpl itemServiceImpl;
 
+    @Spy
+    ItemDetailsCache itemDetailsCache = new ItemDetailsCache(100, Duration.ofMinutes(1));
+
     private UserDto userDto;
     private User user;
     private ItemRequest itemRequest;
@@ -59,6 +76,7 @@ public class ItemServiceImplTest {
     private LocalDateTime current;
     private List<Booking> bookings;
     private CommentResponse commentResponse;
+    private ItemDetailsView details;
 
     @BeforeEach
     void setUp() {
@@ -69,40 +87,103 @@ public class ItemServiceImplTest {
         itemRequest = new ItemRequest(1L, "description 1", user, LocalDateTime.now());
         item = new Item(1L, user, "item", "description", true, itemRequest, bookings);
         itemDto = new ItemDto(1L, userDto.getId(), "item", "description",
-                true, 1L, null, null, null);
+                true, 1L, null, null, null, null);
         booking = new Booking(1L, current, current.plusHours(1), item, user, Status.WAITING);
         commentResponse = new CommentResponse(1L, "comment", user.getName(), current);
+        details = mock(ItemDetailsView.class);
     }
 
     @Test
     void findItemByIdAndThrowIfNotFound() {
-        when(itemRepository.findItemByIdWithBookingsFetched(anyLong())).thenReturn(Optional.empty());
+        when(itemRepository.findItemDetails(anyLong())).thenReturn(Optional.empty());
         final NotFoundException exception = assertThrows(NotFoundException.class,
                 () -> itemServiceImpl.findById(itemDto.getId(), userDto.getId()));
 
         assertEquals("Item not found.",
                 exception.getMessage());
-        verify(itemRepository).findItemByIdWithBookingsFetched(itemDto.getId());
+        verify(itemRepository).findItemDetails(itemDto.getId());
         verifyNoMoreInteractions(itemRepository);
     }
 
     @Test
     public void findByIdAndReturnItem() {
-        bookings.add(booking);
+        when(itemRepository.findItemDetails(item.getId())).thenReturn(Optional.of(details));
+        when(itemMapper.mapDetailsToDto(eq(details), any())).thenReturn(itemDto);
 
-        List<CommentResponse> mockComments = new ArrayList<>();
+        ItemDto resultDto = itemServiceImpl.findById(item.getId(), user.getId() + 1);
 
-        when(itemRepository.findItemByIdWithBookingsFetched(item.getId())).thenReturn(java.util.Optional.of(item));
-        when(itemMapper.mapToDto(item)).thenReturn(itemDto);
-        when(commentService.getCommentsOfItem(item.getId())).thenReturn(mockComments);
+        verify(itemRepository).findItemDetails(item.getId());
+        verify(itemMapper).mapDetailsToDto(eq(details), any());
+        verify(commentService).getLatestCommentsOfItem(item.getId(), ItemServiceImpl.LATEST_COMMENTS);
+
+        assertEquals(itemDto, resultDto);
+    }
+
+    @Test
+    void findByIdForOwnerSetsLastAndNextBookings() {
+        ItemBookingView last = mock(ItemBookingView.class);
+        when(last.getItemId()).thenReturn(item.getId());
+        when(last.getId()).thenReturn(1L);
+        when(last.getBookerId()).thenReturn(2L);
+        ItemBookingView next = mock(ItemBookingView.class);
+        when(next.getItemId()).thenReturn(item.getId());
+        when(next.getId()).thenReturn(3L);
+        when(next.getBookerId()).thenReturn(4L);
+
+        when(itemRepository.findItemDetails(item.getId())).thenReturn(Optional.of(details));
+        when(itemMapper.mapDetailsToDto(eq(details), any())).thenReturn(itemDto);
+        when(bookingRepository.findLastBookingsOfItems(eq(Set.of(item.getId())), any(LocalDateTime.class)))
+                .thenReturn(List.of(last));
+        when(bookingRepository.findNextBookingsOfItems(eq(Set.of(item.getId())), any(LocalDateTime.class)))
+                .thenReturn(List.of(next));
+
+        ItemDto result = itemServiceImpl.findById(item.getId(), user.getId());
+
+        assertEquals(new BookingResponseDto(1L, 2L), result.getLastBooking());
+        assertEquals(new BookingResponseDto(3L, 4L), result.getNextBooking());
+    }
+
+    @Test
+    void findByIdForNotOwnerDoesNotQueryBookings() {
+        when(itemRepository.findItemDetails(item.getId())).thenReturn(Optional.of(details));
+        when(itemMapper.mapDetailsToDto(eq(details), any())).thenReturn(itemDto);
 
-        ItemDto resultDto = itemServiceImpl.findById(item.getId(), user.getId());
+        ItemDto result = itemServiceImpl.findById(item.getId(), user.getId() + 1);
 
-        verify(itemRepository).findItemByIdWithBookingsFetched(item.getId());
-        verify(itemMapper).mapToDto(item);
-        verify(commentService).getCommentsOfItem(item.getId());
+        assertNull(result.getLastBooking());
+        assertNull(result.getNextBooking());
+        verifyNoInteractions(bookingRepository);
+    }
 
-        assertEquals(itemDto, resultDto);
+    @Test
+    void findByIdServesRepeatedReadsFromCacheWithoutOwnerBookings() {
+        when(itemRepository.findItemDetails(item.getId())).thenReturn(Optional.of(details));
+        when(itemMapper.mapDetailsToDto(eq(details), any())).thenReturn(itemDto);
+        when(bookingRepository.findLastBookingsOfItems(eq(Set.of(item.getId())), any(LocalDateTime.class)))
+                .thenReturn(List.of());
+        when(bookingRepository.findNextBookingsOfItems(eq(Set.of(item.getId())), any(LocalDateTime.class)))
+                .thenReturn(List.of());
+
+        itemServiceImpl.findById(item.getId(), user.getId());
+        ItemDto result = itemServiceImpl.findById(item.getId(), user.getId() + 1);
+
+        assertNull(result.getLastBooking());
+        verify(itemRepository, times(1)).findItemDetails(item.getId());
+        verify(bookingRepository, times(1)).findLastBookingsOfItems(any(), any());
+    }
+
+    @Test
+    void updateEvictsCachedItemDetails() {
+        when(itemRepository.findItemDetails(item.getId())).thenReturn(Optional.of(details));
+        when(itemMapper.mapDetailsToDto(eq(details), any())).thenReturn(itemDto);
+        when(itemRepository.findById(item.getId())).thenReturn(Optional.of(item));
+        when(userRepository.getReferenceById(user.getId())).thenReturn(user);
+
+        itemServiceImpl.findById(item.getId(), user.getId() + 1);
+        itemServiceImpl.update(ItemDto.builder().name("updated").build(), user.getId(), item.getId());
+        itemServiceImpl.findById(item.getId(), user.getId() + 1);
+
+        verify(itemRepository, times(2)).findItemDetails(item.getId());
     }
 
     @Test
@@ -175,7 +256,7 @@ public class ItemServiceImplTest {
         when(itemRequestRepository.findById(requestId)).thenReturn(Optional.of(itemRequest));
 
         itemDto = new ItemDto(1L, userDto.getId(), "item", "description",
-                true, 1L, null, null, null);
+                true, 1L, null, null, null, null);
         itemDto.setRequestId(requestId);
 
         Item mappedItem = new Item();
@@ -193,6 +274,7 @@ public class ItemServiceImplTest {
         verify(itemRequestRepository).findById(requestId);
         verify(itemMapper).mapToItem(itemDto, user, itemRequest);
         verify(itemRepository).save(mappedItem);
+        verify(itemStatsRepository).save(argThat(stats -> stats.getItem() == savedItem));
         verify(itemMapper).mapToDto(savedItem);
     }
 
@@ -231,10 +313,10 @@ public class ItemServiceImplTest {
         PageRequest pageRequest = PageRequest.of(from, size, Sort.by(Sort.Direction.ASC, "name"));
 
         List<Item> items = new ArrayList<>();
-        when(itemRepository.findAllByOwnerIdFetchBookings(userId, pageRequest)).thenReturn(items);
+        when(itemRepository.findAllByOwner_Id(userId, pageRequest)).thenReturn(items);
 
         Map<Long, List<CommentResponse>> itemIdToComments = new HashMap<>();
-        when(commentService.getItemIdToComments(any())).thenReturn(itemIdToComments);
+        when(commentService.getItemIdToLatestComments(any(), anyInt())).thenReturn(itemIdToComments);
 
         List<ItemDto> expectedDtos = new ArrayList<>();
         ItemServiceImpl spyItemService = spy(itemServiceImpl);
@@ -242,8 +324,8 @@ public class ItemServiceImplTest {
         List<ItemDto> result = spyItemService.getItemsForUser(userId, from, size);
 
         assertEquals(expectedDtos, result);
-        verify(itemRepository).findAllByOwnerIdFetchBookings(userId, pageRequest);
-        verify(commentService).getItemIdToComments(anySet());
+        verify(itemRepository).findAllByOwner_Id(userId, pageRequest);
+        verify(commentService).getItemIdToLatestComments(anySet(), eq(ItemServiceImpl.LATEST_COMMENTS));
 
         for (Item item : items) {
             verify(itemMapper).mapToDto(item);
@@ -260,7 +342,7 @@ public class ItemServiceImplTest {
         List<Item> items = new ArrayList<>(); // Prepare the items as needed
 
         List<Item> expectedItems = items.subList(0, Math.min(size, items.size()));
-        when(itemRepository.findAllByOwnerIdFetchBookings(userId, pageRequest)).thenReturn(expectedItems);
+        when(itemRepository.findAllByOwner_Id(userId, pageRequest)).thenReturn(expectedItems);
 
         List<ItemDto> expectedDtos = new ArrayList<>();
         ItemServiceImpl spyItemService = spy(itemServiceImpl);
@@ -268,8 +350,8 @@ public class ItemServiceImplTest {
         List<ItemDto> result = spyItemService.getItemsForUser(userId, from, size);
 
         assertEquals(expectedDtos, result);
-        verify(itemRepository).findAllByOwnerIdFetchBookings(userId, pageRequest);
-        verify(commentService).getItemIdToComments(anySet());
+        verify(itemRepository).findAllByOwner_Id(userId, pageRequest);
+        verify(commentService).getItemIdToLatestComments(anySet(), eq(ItemServiceImpl.LATEST_COMMENTS));
 
         for (Item item : expectedItems) {
             verify(itemMapper).mapToDto(item);
@@ -285,7 +367,7 @@ public class ItemServiceImplTest {
         List<ItemDto> result = itemServiceImpl.searchAvailableItems(query, from, size);
 
         assertTrue(result.isEmpty());
-        verify(itemRepository, never()).searchAllItemFetchOwnerByQuery(any(), any());
+        verify(itemSearchEngine, never()).search(any(), any());
         verify(itemMapper, never()).mapToDto(any());
     }
 
@@ -297,7 +379,7 @@ public class ItemServiceImplTest {
 
         assertThrows(IllegalArgumentException.class, () -> itemServiceImpl.searchAvailableItems(query, from, size));
 
-        verify(itemRepository, never()).searchAllItemFetchOwnerByQuery(any(), any());
+        verify(itemSearchEngine, never()).search(any(), any());
         verify(itemMapper, never()).mapToDto(any());
     }
 
@@ -310,13 +392,13 @@ public class ItemServiceImplTest {
         List<Item> itemList = Collections.singletonList(item);
         List<ItemDto> dtoList = Collections.singletonList(itemDto);
 
-        when(itemRepository.searchAllItemFetchOwnerByQuery(eq(query), any(PageRequest.class))).thenReturn(itemList);
+        when(itemSearchEngine.search(eq(query), any(PageRequest.class))).thenReturn(itemList);
 
         when(itemMapper.mapToDto(any())).thenReturn(dtoList.get(0));
 
         List<ItemDto> result = itemServiceImpl.searchAvailableItems(query, from, size);
 
-        verify(itemRepository, times(1)).searchAllItemFetchOwnerByQuery(eq(query), any(PageRequest.class));
+        verify(itemSearchEngine, times(1)).search(eq(query), any(PageRequest.class));
         verify(itemMapper, times(1)).mapToDto(any());
 
         assertEquals(dtoList, result);
@@ -331,7 +413,7 @@ public class ItemServiceImplTest {
 
         List<Item> items = new ArrayList<>();
 
-        when(itemRepository.findAllByOwnerIdFetchBookings(userId, pageRequest)).thenReturn(items);
+        when(itemRepository.findAllByOwner_Id(userId, pageRequest)).thenReturn(items);
 
         List<ItemDto> expectedDtos = new ArrayList<>();
         ItemServiceImpl spyItemService = spy(itemServiceImpl);
@@ -339,8 +421,8 @@ public class ItemServiceImplTest {
         List<ItemDto> result = spyItemService.getItemsForUser(userId, from, size);
 
         assertEquals(expectedDtos, result);
-        verify(itemRepository).findAllByOwnerIdFetchBookings(userId, pageRequest);
-        verify(commentService).getItemIdToComments(anySet());
+        verify(itemRepository).findAllByOwner_Id(userId, pageRequest);
+        verify(commentService).getItemIdToLatestComments(anySet(), eq(ItemServiceImpl.LATEST_COMMENTS));
 
         verifyNoInteractions(itemMapper);
     }
@@ -389,7 +471,7 @@ public class ItemServiceImplTest {
         expectedDto.setNextBooking(nextBookingDto);
         expectedDto.setLastBooking(lastBookingDto);
 
-        ItemDto resultDto = new ItemDto(1L, 1L, "item", "description", true, 1L, lastBookingDto, nextBookingDto, null);
+        ItemDto resultDto = new ItemDto(1L, 1L, "item", "description", true, 1L, lastBookingDto, nextBookingDto, null, null);
 
         assertEquals(expectedDto.getNextBooking(), resultDto.getNextBooking());
         assertEquals(expectedDto.getLastBooking(), resultDto.getLastBooking());
@@ -423,12 +505,12 @@ public class ItemServiceImplTest {
 
 
         List<Item> mockItems = new ArrayList<>();
-        when(itemRepository.findAllByOwnerIdFetchBookings(eq(userId), any(PageRequest.class)))
+        when(itemRepository.findAllByOwner_Id(eq(userId), any(PageRequest.class)))
                 .thenReturn(mockItems);
 
 
         Map<Long, List<CommentResponse>> itemIdToComments = new HashMap<>();
-        when(commentService.getItemIdToComments(anySet())).thenReturn(itemIdToComments);
+        when(commentService.getItemIdToLatestComments(anySet(), eq(ItemServiceImpl.LATEST_COMMENTS))).thenReturn(itemIdToComments);
 
         List<ItemDto> result = itemServiceImpl.getItemsForUser(userId, from, size);
 
@@ -443,17 +525,17 @@ public class ItemServiceImplTest {
         int size = 10;
 
         List<Item> mockItems = new ArrayList<>();
-        when(itemRepository.findAllByOwnerIdFetchBookings(eq(userId), any(PageRequest.class)))
+        when(itemRepository.findAllByOwner_Id(eq(userId), any(PageRequest.class)))
                 .thenReturn(mockItems);
 
         Map<Long, List<CommentResponse>> itemIdToComments = new HashMap<>();
-        when(commentService.getItemIdToComments(anySet())).thenReturn(itemIdToComments);
+        when(commentService.getItemIdToLatestComments(anySet(), eq(ItemServiceImpl.LATEST_COMMENTS))).thenReturn(itemIdToComments);
 
         List<ItemDto> result = itemServiceImpl.getItemsForUser(userId, from, size);
 
         assertNotNull(result);
         assertEquals(mockItems.size(), result.size());
-        verify(commentService, times(1)).getItemIdToComments(anySet());
+        verify(commentService, times(1)).getItemIdToLatestComments(anySet(), eq(ItemServiceImpl.LATEST_COMMENTS));
         verify(itemMapper, times(mockItems.size())).mapToDto(any(Item.class));
         assertTrue(result.stream().allMatch(itemDto -> itemDto.getComments().isEmpty()));
     }
@@ -465,20 +547,20 @@ public class ItemServiceImplTest {
         int size = 10;
 
         List<Item> mockItems = new ArrayList<>();
-        when(itemRepository.findAllByOwnerIdFetchBookings(eq(userId), any(PageRequest.class)))
+        when(itemRepository.findAllByOwner_Id(eq(userId), any(PageRequest.class)))
                 .thenReturn(mockItems);
 
         Map<Long, List<CommentResponse>> itemIdToComments = new HashMap<>();
         List<CommentResponse> commentResponses = new ArrayList<>();
         commentResponses.add(commentResponse);
         itemIdToComments.put(1L, commentResponses);
-        when(commentService.getItemIdToComments(anySet())).thenReturn(itemIdToComments);
+        when(commentService.getItemIdToLatestComments(anySet(), eq(ItemServiceImpl.LATEST_COMMENTS))).thenReturn(itemIdToComments);
 
         List<ItemDto> result = itemServiceImpl.getItemsForUser(userId, from, size);
 
         assertNotNull(result);
         assertEquals(mockItems.size(), result.size());
-        verify(commentService, times(1)).getItemIdToComments(anySet());
+        verify(commentService, times(1)).getItemIdToLatestComments(anySet(), eq(ItemServiceImpl.LATEST_COMMENTS));
         verify(itemMapper, times(mockItems.size())).mapToDto(any(Item.class));
     }
 }
@@ -0,0 +1,115 @@
+package ru.practicum.shareit.item;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.annotation.Transactional;
+import ru.practicum.shareit.item.dto.CommentCursorPageDto;
+import ru.practicum.shareit.item.dto.CommentResponse;
+import ru.practicum.shareit.item.dto.ItemDto;
+import ru.practicum.shareit.item.model.Comment;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.model.ItemStats;
+import ru.practicum.shareit.user.User;
+
+import javax.persistence.EntityManager;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static ru.practicum.shareit.metrics.StatementCountAssertions.assertMaxStatements;
+
+@SpringBootTest
+@Transactional
+public class ItemServiceQueryCountTest {
+    private static final int ITEMS = 5;
+    private static final int AUTHORS = 50;
+    private static final int COMMENTS_PER_ITEM = 60;
+
+    @Autowired
+    private EntityManager em;
+    @Autowired
+    private ItemService itemService;
+    @Autowired
+    private CommentService commentService;
+
+    private User owner;
+    private Item item;
+
+    @BeforeEach
+    void setUp() {
+        owner = persist(new User(null, "owner", "owner@mail.ru"));
+        List<User> authors = new ArrayList<>();
+        for (int i = 0; i < AUTHORS; i++) {
+            authors.add(persist(new User(null, "author" + i, "author" + i + "@mail.ru")));
+        }
+        LocalDateTime created = LocalDateTime.now().minusDays(1);
+        for (int i = 0; i < ITEMS; i++) {
+            item = persist(Item.builder()
+                    .name("item" + i)
+                    .description("description" + i)
+                    .available(true)
+                    .owner(owner)
+                    .bookings(new ArrayList<>())
+                    .build());
+            for (int j = 0; j < COMMENTS_PER_ITEM; j++) {
+                persist(new Comment(null, "comment" + j, item, authors.get(j % AUTHORS), created.plusMinutes(j / 2)));
+            }
+            persist(ItemStats.builder().item(item).commentCount(COMMENTS_PER_ITEM).build());
+        }
+        em.flush();
+        em.clear();
+    }
+
+    @Test
+    void getItemsForUserDoesNotLoadCommentAuthorsOneByOne() {
+        List<ItemDto> items = assertMaxStatements(5, () -> itemService.getItemsForUser(owner.getId(), 0, 10));
+
+        assertEquals(ITEMS, items.size());
+        List<CommentResponse> comments = items.stream()
+                .flatMap(item -> item.getComments().stream())
+                .collect(Collectors.toList());
+        assertEquals(ITEMS * ItemServiceImpl.LATEST_COMMENTS, comments.size());
+        assertTrue(items.stream().allMatch(item -> item.getCommentCount() == COMMENTS_PER_ITEM));
+    }
+
+    @Test
+    void findByIdEmbedsLatestCommentsAndCount() {
+        ItemDto dto = assertMaxStatements(2, () -> itemService.findById(item.getId(), owner.getId() + 1));
+
+        assertEquals(ItemServiceImpl.LATEST_COMMENTS, dto.getComments().size());
+        assertEquals("comment" + (COMMENTS_PER_ITEM - 1), dto.getComments().get(0).getText());
+        assertEquals(COMMENTS_PER_ITEM, dto.getCommentCount());
+    }
+
+    @Test
+    void getCommentsOfItemAfterPagesThroughAllCommentsNewestFirst() {
+        List<CommentResponse> comments = new ArrayList<>();
+        String cursor = null;
+        do {
+            String after = cursor;
+            CommentCursorPageDto page = assertMaxStatements(2,
+                    () -> commentService.getCommentsOfItemAfter(item.getId(), after, 7));
+            comments.addAll(page.getComments());
+            cursor = page.getNextCursor();
+        } while (cursor != null);
+
+        assertEquals(COMMENTS_PER_ITEM, comments.size());
+        assertEquals(COMMENTS_PER_ITEM, comments.stream().map(CommentResponse::getId).distinct().count());
+        for (int i = 1; i < comments.size(); i++) {
+            CommentResponse newer = comments.get(i - 1);
+            CommentResponse older = comments.get(i);
+            assertTrue(newer.getCreated().isAfter(older.getCreated())
+                    || newer.getCreated().equals(older.getCreated()) && newer.getId() > older.getId());
+        }
+    }
+
+    private <T> T persist(T entity) {
+        em.persist(entity);
+        return entity;
+    }
+}
@@ -0,0 +1,113 @@
+package ru.practicum.shareit.item;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.annotation.Transactional;
+import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.model.Status;
+import ru.practicum.shareit.item.model.Comment;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.model.ItemStats;
+import ru.practicum.shareit.user.User;
+
+import javax.persistence.EntityManager;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+@SpringBootTest(properties = "shareit.item-stats.reconcile.batch-size=2")
+@Transactional
+public class ItemStatsReconcilerTest {
+
+    @Autowired
+    private EntityManager em;
+    @Autowired
+    private ItemStatsReconciler reconciler;
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    private final LocalDateTime start = LocalDateTime.now().plusDays(1).truncatedTo(ChronoUnit.SECONDS);
+    private Item accurate;
+    private Item drifted;
+    private Item missing;
+    private Item unused;
+
+    @BeforeEach
+    void setUp() {
+        User owner = persist(new User(null, "owner", "owner@mail.ru"));
+        User booker = persist(new User(null, "booker", "booker@mail.ru"));
+        accurate = persistItem(owner, "accurate");
+        drifted = persistItem(owner, "drifted");
+        missing = persistItem(owner, "missing");
+        unused = persistItem(owner, "unused");
+        for (Item item : new Item[]{accurate, drifted, missing}) {
+            persist(new Booking(null, start, start.plusHours(1), item, booker, Status.APPROVED));
+            persist(new Booking(null, start.plusDays(1), start.plusDays(1).plusHours(1), item, booker,
+                    Status.WAITING));
+            persist(new Comment(null, "comment", item, booker, start.minusDays(2)));
+        }
+        persist(ItemStats.builder().item(accurate).commentCount(1).bookingCount(2).approvedBookingCount(1)
+                .lastBookedAt(start.plusDays(1)).build());
+        persist(ItemStats.builder().item(drifted).commentCount(1).bookingCount(5).approvedBookingCount(0)
+                .lastBookedAt(start).build());
+        em.flush();
+        em.clear();
+    }
+
+    @Test
+    void reconcileFixesDriftedAndMissingStats() {
+        double driftBefore = meterRegistry.counter("shareit.item.stats.drift").count();
+
+        long driftedItems = reconciler.reconcile();
+        em.flush();
+        em.clear();
+
+        // the unused item had no stats row either, and gets zeroed counters
+        assertEquals(3, driftedItems);
+        assertEquals(driftBefore + 3, meterRegistry.counter("shareit.item.stats.drift").count());
+        for (Item item : new Item[]{accurate, drifted, missing}) {
+            ItemStats stats = em.find(ItemStats.class, item.getId());
+            assertNotNull(stats);
+            assertEquals(1, stats.getCommentCount());
+            assertEquals(2, stats.getBookingCount());
+            assertEquals(1, stats.getApprovedBookingCount());
+            assertEquals(start.plusDays(1), stats.getLastBookedAt());
+        }
+        assertEquals(0, reconciler.reconcile());
+    }
+
+    @Test
+    void reconcileItemCreatesMissingStatsInCallerTransaction() {
+        reconciler.reconcileItem(missing.getId());
+        em.flush();
+        em.clear();
+
+        ItemStats stats = em.find(ItemStats.class, missing.getId());
+        assertNotNull(stats);
+        assertEquals(2, stats.getBookingCount());
+        assertEquals(1, stats.getApprovedBookingCount());
+        assertNull(em.find(ItemStats.class, unused.getId()));
+    }
+
+    private Item persistItem(User owner, String name) {
+        return persist(Item.builder()
+                .name(name)
+                .description(name)
+                .available(true)
+                .owner(owner)
+                .bookings(new ArrayList<>())
+                .build());
+    }
+
+    private <T> T persist(T entity) {
+        em.persist(entity);
+        return entity;
+    }
+}
@@ -0,0 +1,87 @@
+package ru.practicum.shareit.item;
+
+import lombok.RequiredArgsConstructor;
+import org.hibernate.Hibernate;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.user.User;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * Runs the pg_trgm search against PostgreSQL, since the H2 test profile uses the LIKE engine. Skipped when Docker
+ * is not available.
+ */
+@Testcontainers(disabledWithoutDocker = true)
+@DataJpaTest(properties = {
+        "shareit.search.engine=trigram",
+        "spring.jpa.properties.hibernate.session_factory.statement_inspector=" +
+                "ru.practicum.shareit.item.RecordingStatementInspector"
+})
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Import(TrigramItemSearchEngine.class)
+@RequiredArgsConstructor(onConstructor_ = @Autowired)
+public class TrigramItemSearchEngineTest {
+
+    @Container
+    private static final PostgreSQLContainer<?> POSTGRES = new PostgreSQLContainer<>("postgres:14-alpine");
+
+    @Autowired
+    private final TrigramItemSearchEngine searchEngine;
+    @Autowired
+    private final TestEntityManager em;
+
+    @DynamicPropertySource
+    static void postgresProperties(DynamicPropertyRegistry registry) {
+        registry.add("spring.datasource.driverClassName", POSTGRES::getDriverClassName);
+        registry.add("spring.datasource.url", POSTGRES::getJdbcUrl);
+        registry.add("spring.datasource.username", POSTGRES::getUsername);
+        registry.add("spring.datasource.password", POSTGRES::getPassword);
+    }
+
+    @Test
+    void searchRanksNameMatchesFirstAndFetchesOwners() {
+        User owner = em.persist(new User(null, "searcher", "searcher@user.ru"));
+        em.persist(new Item(null, owner, "Щётка", "Аккумуляторная дрель в подарок", true, null, new ArrayList<>()));
+        em.persist(new Item(null, owner, "Дрель", "Простая", true, null, new ArrayList<>()));
+        em.persist(new Item(null, owner, "Дрель+", "Недоступная", false, null, new ArrayList<>()));
+        em.flush();
+        em.clear();
+        RecordingStatementInspector.clear();
+
+        List<Item> items = searchEngine.search("дРелЬ", PageRequest.of(0, 10));
+
+        Assertions.assertEquals(List.of("Дрель", "Щётка"),
+                items.stream().map(Item::getName).collect(Collectors.toList()));
+        Assertions.assertTrue(items.stream().allMatch(item -> Hibernate.isInitialized(item.getOwner())));
+        Assertions.assertEquals(2, RecordingStatementInspector.getStatements().size());
+    }
+
+    @Test
+    void searchAppliesPageInSql() {
+        User owner = em.persist(new User(null, "pager", "pager@user.ru"));
+        for (String name : List.of("drill a", "drill b", "drill c")) {
+            em.persist(new Item(null, owner, name, "description", true, null, new ArrayList<>()));
+        }
+        em.flush();
+        em.clear();
+
+        List<Item> items = searchEngine.search("drill", PageRequest.of(1, 2));
+
+        Assertions.assertEquals(List.of("drill c"), items.stream().map(Item::getName).collect(Collectors.toList()));
+    }
+}
@@ -0,0 +1,27 @@
+package ru.practicum.shareit.metrics;
+
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.fail;
+
+/**
+ * Asserts a maximum number of JDBC statements per call. Needs a context where {@link JdbcStatementCounter} is the
+ * Hibernate statement inspector, i.e. a {@code @SpringBootTest}; flush and clear the persistence context first so
+ * the call really hits the database.
+ */
+public final class StatementCountAssertions {
+
+    private StatementCountAssertions() {
+    }
+
+    public static <T> T assertMaxStatements(long max, Supplier<T> call) {
+        JdbcStatementCounter.start(max);
+        T result = call.get();
+        long executed = JdbcStatementCounter.current();
+        if (executed > max) {
+            fail("Expected at most " + max + " JDBC statements but " + executed + " were executed. "
+                    + "First statement over budget: " + JdbcStatementCounter.overBudgetSite());
+        }
+        return result;
+    }
+}
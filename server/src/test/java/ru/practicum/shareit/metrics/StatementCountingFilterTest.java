@@ -0,0 +1,70 @@
+package ru.practicum.shareit.metrics;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.servlet.HandlerMapping;
+
+import javax.servlet.http.HttpServlet;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class StatementCountingFilterTest {
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    private final StatementCountingFilter filter = new StatementCountingFilter(registry, 2);
+    private final JdbcStatementCounter inspector = new JdbcStatementCounter();
+
+    @Test
+    void recordsStatementsOfRequestUnderMatchedPattern() throws Exception {
+        inspector.inspect("select leftover from previous request");
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/items/1");
+
+        filter.doFilter(request, new MockHttpServletResponse(), new MockFilterChain(new HttpServlet() {
+            @Override
+            protected void service(HttpServletRequest req, HttpServletResponse resp) {
+                req.setAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE, "/items/{itemId}");
+                inspector.inspect("select item");
+                inspector.inspect("select comments");
+            }
+        }));
+
+        DistributionSummary summary = registry.find(StatementCountingFilter.METRIC)
+                .tags("method", "GET", "uri", "/items/{itemId}", "status", "200")
+                .summary();
+        assertNotNull(summary);
+        assertEquals(1, summary.count());
+        assertEquals(2, summary.totalAmount());
+        assertNull(registry.find(StatementCountingFilter.OVER_BUDGET_METRIC).counter());
+    }
+
+    @Test
+    void countsRequestOverBudget() throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/bookings");
+
+        filter.doFilter(request, new MockHttpServletResponse(), new MockFilterChain(new HttpServlet() {
+            @Override
+            protected void service(HttpServletRequest req, HttpServletResponse resp) {
+                req.setAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE, "/bookings");
+                for (int i = 0; i < 3; i++) {
+                    inspector.inspect("select item " + i);
+                }
+            }
+        }));
+
+        Counter overBudget = registry.find(StatementCountingFilter.OVER_BUDGET_METRIC)
+                .tags("method", "GET", "uri", "/bookings")
+                .counter();
+        assertNotNull(overBudget);
+        assertEquals(1, overBudget.count());
+        assertTrue(JdbcStatementCounter.overBudgetSite().endsWith("[select item 2]"));
+    }
+}
@@ -17,6 +17,7 @@ import ru.practicum.shareit.request.dto.ItemRequestDto;
 import ru.practicum.shareit.request.dto.ItemRequestResponseDto;
 import ru.practicum.shareit.request.dto.ItemResponseDto;
 import ru.practicum.shareit.user.User;
+import ru.practicum.shareit.user.UserExistenceCache;
 import ru.practicum.shareit.user.UserRepository;
 
 import java.time.LocalDateTime;
@@ -35,6 +36,8 @@ public class ItemRequestServiceImplTest {
     @Mock
     private UserRepository userRepository;
     @Mock
+    private UserExistenceCache userExistenceCache;
+    @Mock
     private ItemRepository itemRepository;
     @Mock
     private RequestMapper requestMapper;
@@ -60,16 +63,16 @@ public class ItemRequestServiceImplTest {
         requestId = 1L;
         itemId = 1L;
         user = new User(userId, "user", "user@mail.ru");
+        itemRequest = new ItemRequest(1L, "description", user, LocalDateTime.now());
         item = new Item(itemId, user, "name", "description", true, itemRequest, null);
         itemResponseDto = new ItemResponseDto(1L, "response", "description", true, requestId);
         items.add(itemResponseDto);
         itemRequestResponseDto = new ItemRequestResponseDto(1L, "description", LocalDateTime.now(), items);
-        itemRequest = new ItemRequest(1L, "description", user, LocalDateTime.now());
     }
 
     @Test
     void createRequestWhenUserNotFoundThenNotFoundExceptionThrown() {
-        when(userRepository.findById(anyLong())).thenReturn(Optional.empty());
+        when(userRepository.findById(userId)).thenReturn(Optional.empty());
 
         assertThrows(NotFoundException.class,
                 () -> itemRequestService.create(requestDto, userId));
@@ -81,7 +84,7 @@ public class ItemRequestServiceImplTest {
     public void createItemRequestAndReturn() {
         ItemRequestDto itemRequestDto = requestDto;
         User mockUser = user;
-        when(userRepository.findById(anyLong())).thenReturn(Optional.of(mockUser));
+        when(userRepository.findById(1L)).thenReturn(Optional.of(mockUser));
 
         ItemRequest mockItemRequest = itemRequest;
         when(requestMapper.toItemRequest(eq(itemRequestDto), eq(mockUser))).thenReturn(mockItemRequest);
@@ -93,13 +96,13 @@ public class ItemRequestServiceImplTest {
         ItemRequestResponseDto resultDto = itemRequestService.create(itemRequestDto, 1L);
         assertEquals(mockResponseDto, resultDto);
 
-        verify(userRepository).findById(1L);
+        verifyNoInteractions(userExistenceCache);
         verify(itemRequestRepository).save(mockItemRequest);
     }
 
     @Test
     void getAllUserRequestsAndThrowIfUserNotFound() {
-        when(userRepository.findById(anyLong())).thenReturn(Optional.empty());
+        doThrow(new NotFoundException("User not found")).when(userExistenceCache).requireExists(anyLong());
 
         assertThrows(NotFoundException.class,
                 () -> itemRequestService.getAllUserRequests(userId));
@@ -109,12 +112,10 @@ public class ItemRequestServiceImplTest {
 
     @Test
     public void getAllUserRequestsAndReturn() {
-        when(userRepository.findById(userId)).thenReturn(Optional.of(user));
-
         when(itemRequestRepository.findAllByRequesterId(userId)).thenReturn(Collections.singletonList(itemRequest));
 
         List<Item> items = Collections.singletonList(item);
-        when(itemRepository.findAll()).thenReturn(items);
+        when(itemRepository.findAllByRequestIdIn(anySet())).thenReturn(items);
 
         when(requestMapper.toResponseDto(itemRequest)).thenReturn(itemRequestResponseDto);
 
@@ -134,18 +135,14 @@ public class ItemRequestServiceImplTest {
         when(itemRequestRepository.findAllByRequesterIdNot(userId, pageRequest))
                 .thenReturn(itemRequests);
 
-        List<Item> items = Collections.singletonList(item);
-        when(itemRepository.findAll()).thenReturn(items);
-
         List<ItemRequestResponseDto> result = itemRequestService.getAllRequests(userId, from, size);
 
         assertEquals(0, result.size());
+        verify(itemRepository, never()).findAllByRequestIdIn(anySet());
     }
 
     @Test
     public void getRequestByIdAndReturn() {
-        when(userRepository.findById(userId)).thenReturn(Optional.of(user));
-
         when(itemRequestRepository.findById(requestId)).thenReturn(Optional.of(itemRequest));
 
         List<Item> items = new ArrayList<>();
@@ -161,7 +158,7 @@ public class ItemRequestServiceImplTest {
 
         assertNotNull(result);
 
-        verify(userRepository, times(1)).findById(userId);
+        verify(userExistenceCache, times(1)).requireExists(userId);
         verify(itemRequestRepository, times(1)).findById(requestId);
         verify(itemRepository, times(1)).findAllByRequestId(requestId);
         verify(requestMapper, times(1)).mapToItemResponse(eq(item), anyLong());
@@ -170,7 +167,7 @@ public class ItemRequestServiceImplTest {
 
     @Test
     void getRequestByIdAndThrowIfUserNotFound() {
-        when(userRepository.findById(anyLong())).thenReturn(Optional.empty());
+        doThrow(new NotFoundException("User not found")).when(userExistenceCache).requireExists(anyLong());
 
         assertThrows(NotFoundException.class,
                 () -> itemRequestService.getRequestById(requestId, userId));
@@ -180,7 +177,6 @@ public class ItemRequestServiceImplTest {
 
     @Test
     void getRequestByIdAndThrowIfItemNotFound() {
-        when(userRepository.findById(anyLong())).thenReturn(Optional.of(user));
         when(itemRequestRepository.findById(anyLong())).thenReturn(Optional.empty());
 
         assertThrows(NotFoundException.class,
@@ -191,12 +187,10 @@ public class ItemRequestServiceImplTest {
 
     @Test
     public void getAllUserRequestsWithEmptyItemsAndReturn() {
-        when(userRepository.findById(userId)).thenReturn(Optional.of(user));
-
         when(itemRequestRepository.findAllByRequesterId(userId)).thenReturn(Collections.singletonList(itemRequest));
 
         List<Item> items = Collections.singletonList(item);
-        when(itemRepository.findAll()).thenReturn(items);
+        when(itemRepository.findAllByRequestIdIn(anySet())).thenReturn(items);
 
         when(requestMapper.toResponseDto(itemRequest)).thenReturn(itemRequestResponseDto);
 
@@ -211,32 +205,30 @@ public class ItemRequestServiceImplTest {
         User testUser = new User();
         Long userId = 1L;
 
-        when(userRepository.findById(userId)).thenReturn(Optional.of(testUser));
         when(itemRequestRepository.findAllByRequesterId(userId)).thenReturn(Collections.emptyList());
 
         List<ItemRequestResponseDto> result = itemRequestService.getAllUserRequests(userId);
 
         assertTrue(result.isEmpty());
 
-        verify(userRepository, times(1)).findById(userId);
+        verify(userExistenceCache, times(1)).requireExists(userId);
         verify(itemRequestRepository, times(1)).findAllByRequesterId(userId);
     }
 
     @Test
     public void getAllUserRequestsWithItemsAssociatedWithRequests() {
-        when(userRepository.findById(userId)).thenReturn(Optional.of(user));
         when(itemRequestRepository.findAllByRequesterId(userId)).thenReturn(Collections.singletonList(itemRequest));
         when(requestMapper.toResponseDto(itemRequest)).thenReturn(itemRequestResponseDto);
-        when(itemRepository.findAll()).thenReturn(Collections.singletonList(item));
+        when(itemRepository.findAllByRequestIdIn(anySet())).thenReturn(Collections.singletonList(item));
 
         List<ItemRequestResponseDto> result = itemRequestService.getAllUserRequests(userId);
 
         assertFalse(result.isEmpty());
 
-        verify(userRepository, times(1)).findById(userId);
+        verify(userExistenceCache, times(1)).requireExists(userId);
         verify(itemRequestRepository, times(1)).findAllByRequesterId(userId);
         verify(requestMapper, times(1)).toResponseDto(itemRequest);
-        verify(itemRepository, times(1)).findAll();
+        verify(itemRepository, times(1)).findAllByRequestIdIn(Set.of(1L));
     }
 
     @Test
@@ -255,7 +247,7 @@ public class ItemRequestServiceImplTest {
         Page<ItemRequest> mockPage = new PageImpl<>(mockRequests, pageRequest, mockRequests.size());
 
         when(itemRequestRepository.findAllByRequesterIdNot(userId, pageRequest)).thenReturn(mockPage);
-        when(itemRepository.findAll()).thenReturn(mockItems);
+        when(itemRepository.findAllByRequestIdIn(anySet())).thenReturn(mockItems);
 
         ItemRequestResponseDto responseDto = new ItemRequestResponseDto(1L, "description1", LocalDateTime.now(), items);
         List<ItemRequestResponseDto> expected = new ArrayList<>();
@@ -279,15 +271,13 @@ public class ItemRequestServiceImplTest {
         assertEquals(expected, result);
 
         verify(itemRequestRepository, times(1)).findAllByRequesterIdNot(userId, pageRequest);
-        verify(itemRepository, times(1)).findAll();
+        verify(itemRepository, times(1)).findAllByRequestIdIn(Set.of(1L));
     }
 
     @Test
     void getAllRequestsAndReturnWithItems() {
         Long userId = 1L;
 
-        when(userRepository.findById(userId)).thenReturn(Optional.of(user));
-
         ItemRequest request1 = new ItemRequest(1L, "description1", user, LocalDateTime.now());
 
         List<ItemRequest> mockRequests = List.of(request1);
@@ -305,7 +295,7 @@ public class ItemRequestServiceImplTest {
         Item item1 = new Item(1L, user, "name1", "description1", true, request1, null);
         List<Item> mockItems = List.of(item1);
 
-        when(itemRepository.findAll()).thenReturn(mockItems);
+        when(itemRepository.findAllByRequestIdIn(anySet())).thenReturn(mockItems);
 
         List<ItemResponseDto> itemResponseDtos = new ArrayList<>();
         List<ItemRequestResponseDto> expected = new ArrayList<>();
@@ -327,6 +317,6 @@ public class ItemRequestServiceImplTest {
         assertEquals(expected, result);
 
         verify(itemRequestRepository, times(1)).findAllByRequesterId(userId);
-        verify(itemRepository, times(1)).findAll();
+        verify(itemRepository, times(1)).findAllByRequestIdIn(Set.of(1L));
     }
 }
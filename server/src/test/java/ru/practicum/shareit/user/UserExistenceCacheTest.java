@@ -0,0 +1,66 @@
+package ru.practicum.shareit.user;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import ru.practicum.shareit.exception.NotFoundException;
+
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class UserExistenceCacheTest {
+
+    @Mock
+    private UserRepository userRepository;
+
+    private UserExistenceCache cache;
+
+    @BeforeEach
+    void setUp() {
+        cache = new UserExistenceCache(userRepository, 100, Duration.ofMinutes(1));
+    }
+
+    @Test
+    void requireExistsQueriesRepositoryOnlyOnce() {
+        when(userRepository.existsById(1L)).thenReturn(true);
+
+        cache.requireExists(1L);
+        cache.requireExists(1L);
+
+        verify(userRepository, times(1)).existsById(1L);
+    }
+
+    @Test
+    void requireExistsDoesNotCacheMissingUser() {
+        when(userRepository.existsById(1L)).thenReturn(false, true);
+
+        assertThrows(NotFoundException.class, () -> cache.requireExists(1L));
+        cache.requireExists(1L);
+
+        verify(userRepository, times(2)).existsById(1L);
+    }
+
+    @Test
+    void evictForgetsDeletedUser() {
+        when(userRepository.existsById(1L)).thenReturn(true, false);
+
+        cache.requireExists(1L);
+        cache.evict(1L);
+
+        assertThrows(NotFoundException.class, () -> cache.requireExists(1L));
+    }
+
+    @Test
+    void markExistingSkipsFirstLookup() {
+        cache.markExisting(1L);
+
+        cache.requireExists(1L);
+
+        verifyNoInteractions(userRepository);
+    }
+}
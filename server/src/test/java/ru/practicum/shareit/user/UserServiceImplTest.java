@@ -9,6 +9,7 @@ import org.mockito.junit.jupiter.MockitoExtension;
 import ru.practicum.shareit.exception.NotFoundException;
 import ru.practicum.shareit.exception.UserAlreadyExistsException;
 import ru.practicum.shareit.exception.ValidationException;
+import ru.practicum.shareit.item.ItemDetailsCache;
 import ru.practicum.shareit.user.dto.UserDto;
 
 import java.util.*;
@@ -26,6 +27,10 @@ public class UserServiceImplTest {
     private UserRepository userRepository;
     @Mock
     private UserMapper userMapper;
+    @Mock
+    private UserExistenceCache userExistenceCache;
+    @Mock
+    private ItemDetailsCache itemDetailsCache;
     @Spy
     @InjectMocks
     private UserServiceImpl userService;
@@ -89,6 +94,25 @@ public class UserServiceImplTest {
         assertEquals(user.getName(), resultDto.getName());
     }
 
+    @Test
+    void updateWhenNameChangesEvictsItemDetailsOfUser() {
+        when(userRepository.findById(1L)).thenReturn(Optional.of(user));
+
+        userService.update(new UserDto(1L, "renamed", null), 1L);
+
+        assertEquals("renamed", user.getName());
+        verify(itemDetailsCache).evictOwnedOrCommentedBy(1L, "user");
+    }
+
+    @Test
+    void updateWhenNameUnchangedKeepsItemDetailsCache() {
+        when(userRepository.findById(1L)).thenReturn(Optional.of(user));
+
+        userService.update(new UserDto(1L, "user", "other@user.ru"), 1L);
+
+        verifyNoInteractions(itemDetailsCache);
+    }
+
     @Test
     void updateByNameAndIfNameIsNull() {
         UserDto dto = new UserDto(1L, null, "newUser@user.ru");
@@ -215,5 +239,6 @@ public class UserServiceImplTest {
         userService.delete(userId);
 
         verify(userRepository).deleteById(userId);
+        verify(userExistenceCache).evict(userId);
     }
 }
\ No newline at end of file